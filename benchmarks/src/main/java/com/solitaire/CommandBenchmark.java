@@ -0,0 +1,40 @@
+package com.solitaire;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Parsing and dispatch in handleUserCommand. The board is empty, so every command is decoded and
+// validated but none changes the position.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmark {
+    private static final String[] COMMANDS = {"562", "1H", "P3", "PS", "d", "U", "XYZ", " 713 "};
+
+    private PatienceGameEngine engine;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        engine = new PatienceGameEngine(3L);
+        engine.getBoard().clear();
+    }
+
+    @Benchmark
+    public MoveResult handleUserCommand() {
+        next = next == COMMANDS.length - 1 ? 0 : next + 1;
+        return engine.handleUserCommand(COMMANDS[next]);
+    }
+}
@@ -0,0 +1,51 @@
+package com.solitaire;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Starting a game in a new engine against one reset from the pool. Read gc.alloc.rate.norm: a pooled
+// game should allocate close to nothing once warmed up.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnginePoolBenchmark {
+    private final EnginePool pool = new EnginePool(4);
+    private final PatienceGameEngine engine = new PatienceGameEngine(0L);
+    private long seed;
+
+    @Benchmark
+    public PatienceGameEngine newEngine() {
+        return new PatienceGameEngine(seed++);
+    }
+
+    @Benchmark
+    public PatienceGameEngine resetEngine() {
+        engine.reset(seed++);
+        return engine;
+    }
+
+    // A game through the pool, reading the lanes as a client would
+    @Benchmark
+    public int pooledGame() {
+        PatienceGameEngine game = pool.acquire(seed++, GameRules.CLASSIC);
+        int hidden = 0;
+        for (int lane = 1; lane <= GameBoard.LANES; lane++) {
+            for (PlayingCard card : game.getLane(lane)) {
+                hidden += card.isHidden() ? 1 : 0;
+            }
+        }
+        pool.release(game);
+        return hidden;
+    }
+}
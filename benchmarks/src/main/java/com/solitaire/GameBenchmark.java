@@ -0,0 +1,57 @@
+package com.solitaire;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Deal generation and whole-game playouts, one new seed per call
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private final byte[] deck = new byte[CardCodes.DECK_SIZE];
+    private final GameBoard board = new GameBoard();
+    private final PatienceGameEngine engine = new PatienceGameEngine(0L);
+    private final SimulationRunner runner = new SimulationRunner(1, GreedyPolicy::new);
+    private final GreedyPolicy greedy = new GreedyPolicy();
+    private final RandomPolicy random = new RandomPolicy();
+    private final MoveBuffer moves = new MoveBuffer();
+    private long seed;
+
+    @Benchmark
+    public GameBoard dealFromSeed() {
+        Deals.shuffledDeck(deck, seed++);
+        Deals.deal(board, deck);
+        return board;
+    }
+
+    @Benchmark
+    public int setupGame() {
+        engine.setupGame(seed++);
+        return engine.getBoard().stockSize();
+    }
+
+    @Benchmark
+    public int greedyPlayout() {
+        engine.setupGame(seed++);
+        runner.playOut(engine, greedy, moves);
+        return engine.getTotalScore();
+    }
+
+    @Benchmark
+    public int randomPlayout() {
+        engine.setupGame(seed++);
+        runner.playOut(engine, random, moves);
+        return engine.getTotalScore();
+    }
+}
@@ -0,0 +1,69 @@
+package com.solitaire;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Applying moves through the engine. Each call undoes what it applied, so the position and the undo
+// log stay the same size for the whole run.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+    private PatienceGameEngine engine;
+    private final MoveBuffer moves = new MoveBuffer();
+    private int stockSize;
+
+    @Setup
+    public void setUp() {
+        engine = new PatienceGameEngine(7L);
+        engine.getLane(1).clear();
+        engine.getLane(1).add(new PlayingCard("H", "9", false));
+        engine.getLane(2).clear();
+        engine.getLane(2).add(new PlayingCard("S", "10", false));
+        stockSize = engine.getBoard().stockSize();
+    }
+
+    @Benchmark
+    public MoveResult moveLaneToLane() {
+        MoveResult result = engine.moveLaneToLane(0, 1, 1);
+        engine.undo();
+        return result;
+    }
+
+    @Benchmark
+    public MoveResult moveBetweenLanes() {
+        MoveResult result = engine.moveBetweenLanes("1", "2", 1);
+        engine.undo();
+        return result;
+    }
+
+    // Draw the whole draw pile, recycle it, then take it all back
+    @Benchmark
+    public void drawCardAndRecycle(Blackhole blackhole) {
+        for (int i = 0; i <= stockSize; i++) {
+            blackhole.consume(engine.drawCard());
+        }
+        for (int i = 0; i <= stockSize; i++) {
+            engine.undo();
+        }
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        engine.generateMoves(moves);
+        return moves.size();
+    }
+}
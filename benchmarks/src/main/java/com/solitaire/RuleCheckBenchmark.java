@@ -0,0 +1,58 @@
+package com.solitaire;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Lane and suit pile rule checks over a shuffled deck, one pair of neighbouring cards per call
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleCheckBenchmark {
+    private final PatienceGameEngine engine = new PatienceGameEngine(1L);
+    private final byte[] deck = new byte[CardCodes.DECK_SIZE];
+    private final PlayingCard[] cards = new PlayingCard[CardCodes.DECK_SIZE];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Deals.shuffledDeck(deck, 42L);
+        for (int i = 0; i < deck.length; i++) {
+            cards[i] = new PlayingCard(deck[i]);
+        }
+    }
+
+    private int advance() {
+        next = next == CardCodes.DECK_SIZE - 2 ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public boolean isValidSequence() {
+        int i = advance();
+        return engine.isValidSequence(cards[i], cards[i + 1]);
+    }
+
+    @Benchmark
+    public boolean canStack() {
+        int i = advance();
+        return CardCodes.canStack(deck[i], deck[i + 1]);
+    }
+
+    @Benchmark
+    public boolean canPlaceOnPile() {
+        int i = advance();
+        return CardCodes.canPlaceOnPile(deck[i], deck[i + 1]);
+    }
+}
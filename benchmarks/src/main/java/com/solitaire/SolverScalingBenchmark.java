@@ -0,0 +1,66 @@
+package com.solitaire;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// How ParallelSolver scales with thread count on a fixed set of seeded deals, so timings compare
+// between runs and builds. Each call solves every deal once; the solver clears its table per deal.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverScalingBenchmark {
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    @Param({"8"})
+    private int deals;
+
+    @Param({"0"})
+    private long seedBase;
+
+    @Param({"200000"})
+    private long nodeLimit;
+
+    private GameBoard[] boards;
+    private ParallelSolver solver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = new GameBoard[deals];
+        for (int i = 0; i < deals; i++) {
+            boards[i] = new GameBoard();
+            boards[i].copyFrom(new PatienceGameEngine(seedBase + i).getBoard());
+        }
+        solver = new ParallelSolver(threads, Solver.DEFAULT_TABLE_BITS, nodeLimit, ParallelSolver.DEFAULT_SPLIT_LEVELS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        solver.shutdown();
+    }
+
+    // Total nodes searched, so the work done can't be optimised away
+    @Benchmark
+    public long solveDeals() {
+        long nodes = 0;
+        for (GameBoard board : boards) {
+            nodes += solver.solve(board).getNodes();
+        }
+        return nodes;
+    }
+}
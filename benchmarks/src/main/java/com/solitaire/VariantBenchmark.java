@@ -0,0 +1,79 @@
+package com.solitaire;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// The move path and whole-game playouts under each rule variant. Throughput should match the classic
+// rules, since a variant only changes table contents, not the code that runs.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariantBenchmark {
+    @Param({"classic", "draw3", "vegas", "vegas-draw3"})
+    private String rules;
+
+    private PatienceGameEngine engine;
+    private PatienceGameEngine playout;
+    private final SimulationRunner runner = new SimulationRunner(1, GreedyPolicy::new);
+    private final GreedyPolicy greedy = new GreedyPolicy();
+    private final MoveBuffer moves = new MoveBuffer();
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        engine = new PatienceGameEngine(7L, GameRules.forName(rules));
+        engine.getLane(1).clear();
+        engine.getLane(1).add(new PlayingCard("H", "9", false));
+        engine.getLane(2).clear();
+        engine.getLane(2).add(new PlayingCard("S", "10", false));
+        playout = new PatienceGameEngine(0L, GameRules.forName(rules));
+    }
+
+    @Benchmark
+    public MoveResult moveLaneToLane() {
+        MoveResult result = engine.moveLaneToLane(0, 1, 1);
+        engine.undo();
+        return result;
+    }
+
+    // Draw through the draw pile, then take every draw back
+    @Benchmark
+    public void drawThroughStock(Blackhole blackhole) {
+        int draws = 0;
+        while (engine.getBoard().stockSize() > 0) {
+            blackhole.consume(engine.drawCard());
+            draws++;
+        }
+        for (int i = 0; i < draws; i++) {
+            engine.undo();
+        }
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        engine.generateMoves(moves);
+        return moves.size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int greedyPlayout() {
+        playout.setupGame(seed++);
+        runner.playOut(playout, greedy, moves);
+        return playout.getTotalScore();
+    }
+}
@@ -0,0 +1,135 @@
+package com.solitaire;
+
+// Packed card encoding used by the engine hot path.
+// A card fits in a single byte: bits 0-3 rank (1 = Ace .. 13 = King), bits 4-5 suit (H, D, C, S),
+// bit 6 hidden. With this suit order bit 5 doubles as the colour bit (set for Clubs and Spades).
+final class CardCodes {
+    static final int RANK_MASK = 0x0F;
+    static final int SUIT_SHIFT = 4;
+    static final int SUIT_MASK = 0x30;
+    static final int COLOUR_BIT = 0x20;  // Set for black cards
+    static final int HIDDEN_BIT = 0x40;
+    static final int FACE_MASK = 0x3F;   // Suit and rank, without the hidden bit
+
+    static final int ACE = 1;
+    static final int KING = 13;
+    static final int SUITS = 4;
+    static final int DECK_SIZE = 52;
+
+    static final String[] SUIT_LABELS = {"H", "D", "C", "S"};
+    static final String[] RANK_LABELS = {"", "A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
+
+    // STACKS_ON[face] has bit 'topFace' set when 'face' may be placed on 'topFace' in a lane
+    private static final long[] STACKS_ON = new long[FACE_MASK + 1];
+
+    static {
+        for (int suit = 0; suit < SUITS; suit++) {
+            for (int rank = ACE; rank < KING; rank++) {
+                int face = encode(suit, rank, false);
+                for (int topSuit = 0; topSuit < SUITS; topSuit++) {
+                    int topFace = encode(topSuit, rank + 1, false);
+                    if (((face ^ topFace) & COLOUR_BIT) != 0) {
+                        STACKS_ON[face] |= 1L << topFace;
+                    }
+                }
+            }
+        }
+    }
+
+    private CardCodes() {
+    }
+
+    static int encode(int suit, int rank, boolean hidden) {
+        return (suit << SUIT_SHIFT) | rank | (hidden ? HIDDEN_BIT : 0);
+    }
+
+    static int rank(int code) {
+        return code & RANK_MASK;
+    }
+
+    static int suit(int code) {
+        return (code & SUIT_MASK) >>> SUIT_SHIFT;
+    }
+
+    static boolean isHidden(int code) {
+        return (code & HIDDEN_BIT) != 0;
+    }
+
+    static boolean isRed(int code) {
+        return (code & COLOUR_BIT) == 0;
+    }
+
+    static int withHidden(int code, boolean hidden) {
+        return hidden ? code | HIDDEN_BIT : code & ~HIDDEN_BIT;
+    }
+
+    // Dense 0..51 index of a card, ignoring visibility
+    static int index(int code) {
+        return suit(code) * 13 + rank(code) - 1;
+    }
+
+    // Inverse of index(), returns a face-up card
+    static int fromIndex(int index) {
+        return encode(index / 13, index % 13 + 1, false);
+    }
+
+    // Lane rule: alternating colours and one rank lower, answered with a single table lookup
+    static boolean canStack(int card, int topCard) {
+        return (STACKS_ON[card & FACE_MASK] >>> (topCard & FACE_MASK) & 1L) != 0;
+    }
+
+    // Suit pile rule: an Ace on an empty pile (top == 0), otherwise the same suit and one rank higher
+    static boolean canPlaceOnPile(int card, int topCard) {
+        if (topCard == 0) {
+            return rank(card) == ACE;
+        }
+        return (card & FACE_MASK) == (topCard & FACE_MASK) + 1;
+    }
+
+    static int parseSuit(String label) {
+        return label.length() == 1 ? parseSuit(label.charAt(0)) : -1;
+    }
+
+    // Suit for an upper-case H, D, C or S, otherwise -1
+    static int parseSuit(char label) {
+        switch (label) {
+            case 'H':
+                return 0;
+            case 'D':
+                return 1;
+            case 'C':
+                return 2;
+            case 'S':
+                return 3;
+            default:
+                return -1;
+        }
+    }
+
+    // Returns 1..13, or -1 for an unknown label
+    static int parseRank(String label) {
+        if (label.length() == 1) {
+            char c = label.charAt(0);
+            if (c >= '2' && c <= '9') {
+                return c - '0';
+            }
+            switch (c) {
+                case 'A':
+                    return ACE;
+                case 'J':
+                    return 11;
+                case 'Q':
+                    return 12;
+                case 'K':
+                    return KING;
+                default:
+                    return -1;
+            }
+        }
+        return "10".equals(label) ? 10 : -1;
+    }
+
+    static String toString(int code) {
+        return RANK_LABELS[rank(code)] + SUIT_LABELS[suit(code)];  // Format: 5H, QS, etc.
+    }
+}
@@ -0,0 +1,111 @@
+package com.solitaire;
+
+// Decodes console commands straight into packed Moves codes without allocating.
+// Accepted forms, case-insensitive and ignoring surrounding whitespace:
+//   XYn  move n cards from lane X to lane Y; n may have several digits, e.g. 5612
+//   XY   move one card from lane X to lane Y
+//   XS   move the top card of lane X to suit pile S (H, D, C or S)
+//   PX   move the drawn card to lane X;  PS  move it to suit pile S
+//   D    draw (or recycle);  A  play safe cards to the suit piles;  U  undo;  Q  quit
+// Anything else decodes to one of the negative codes below, which never collide with a move.
+final class CommandDecoder {
+    static final int INVALID_COMMAND = -1;       // Not a command at all
+    static final int INVALID_MOVE_COMMAND = -2;  // Shaped like a move but naming no lane, pile or count
+    static final int UNDO = -3;
+    static final int QUIT = -4;
+    static final int AUTO_PLAY = -5;
+
+    private CommandDecoder() {
+    }
+
+    static int decode(CharSequence command) {
+        return decode(command, null, 0, command.length());
+    }
+
+    // Decode an ASCII command held in bytes[offset, offset + length), e.g. a line of a replay log
+    static int decode(byte[] bytes, int offset, int length) {
+        return decode(null, bytes, offset, offset + length);
+    }
+
+    // Reads from 'chars' when it is given, otherwise from 'bytes'
+    private static int decode(CharSequence chars, byte[] bytes, int start, int end) {
+        while (start < end && isSpace(charAt(chars, bytes, start))) {
+            start++;
+        }
+        while (end > start && isSpace(charAt(chars, bytes, end - 1))) {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0) {
+            return INVALID_COMMAND;
+        }
+
+        char first = upper(charAt(chars, bytes, start));
+        if (length == 1) {
+            switch (first) {
+                case 'D':
+                    return Moves.draw();  // The engine recycles instead when the draw pile is empty
+                case 'A':
+                    return AUTO_PLAY;
+                case 'U':
+                    return UNDO;
+                case 'Q':
+                    return QUIT;
+                default:
+                    return INVALID_COMMAND;
+            }
+        }
+
+        char second = upper(charAt(chars, bytes, start + 1));
+        if (length == 2) {
+            int to = lane(second);
+            int pile = CardCodes.parseSuit(second);
+            if (first == 'P') {
+                return to >= 0 ? Moves.wasteToLane(to) : pile >= 0 ? Moves.wasteToPile(pile) : INVALID_MOVE_COMMAND;
+            }
+            int from = lane(first);
+            if (from >= 0 && to >= 0) {
+                return Moves.laneToLane(from, to, 1);
+            }
+            if (from >= 0 && pile >= 0) {
+                return Moves.laneToPile(from, pile);
+            }
+            return INVALID_MOVE_COMMAND;
+        }
+
+        // Three or more characters must all be digits: two lanes and a card count
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            char c = charAt(chars, bytes, i);
+            if (c < '0' || c > '9') {
+                return INVALID_COMMAND;
+            }
+            if (i >= start + 2) {
+                count = Math.min(count * 10 + (c - '0'), Moves.MAX_COUNT + 1);
+            }
+        }
+        int from = lane(first);
+        int to = lane(second);
+        if (from < 0 || to < 0 || count < 1 || count > Moves.MAX_COUNT) {
+            return INVALID_MOVE_COMMAND;
+        }
+        return Moves.laneToLane(from, to, count);
+    }
+
+    private static char charAt(CharSequence chars, byte[] bytes, int index) {
+        return chars != null ? chars.charAt(index) : (char) (bytes[index] & 0xFF);
+    }
+
+    private static boolean isSpace(char c) {
+        return c <= ' ';  // Same characters String.trim() removes
+    }
+
+    private static char upper(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    // 0-based lane for '1'..'7', otherwise -1
+    private static int lane(char c) {
+        return c >= '1' && c < '1' + GameBoard.LANES ? c - '1' : -1;
+    }
+}
@@ -0,0 +1,173 @@
+package com.solitaire;
+
+import java.io.PrintStream;
+
+// Console front end for the headless engine: draws the board and reports move results.
+// Frames are built in a reusable buffer and written with a single write, and render() remembers the
+// board it drew so renderChanges() can send only the lines that differ, e.g. to a streaming client.
+// Every line starts with its own label, so a client can apply a partial frame line by line.
+class ConsoleRenderer {
+    private static final String RULE = "--------------------------------------------------------------------------";
+    private static final String[] PILE_LABELS = {"Hearts  : ", "Diamonds: ", "Clubs   : ", "Spades  : "};
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final PrintStream out;
+    private final StringBuilder frame = new StringBuilder(1024);
+    private byte[] bytes = new byte[1024];
+    private final GameBoard lastBoard = new GameBoard();  // Board as of the last frame
+    private int lastScore;
+    private int lastMoves;
+    private boolean drawn;  // False until the first frame, which is always complete
+
+    public ConsoleRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    // Display the current game state (including the number of cards in the draw pile)
+    public void render(PatienceGameEngine game) {
+        GameBoard board = game.getBoard();
+        frame.setLength(0);
+        frame.append(RULE).append(NEWLINE);
+        appendScore(game);
+        appendDrawPile(board);  // Show the number of cards remaining in the draw pile
+        frame.append(RULE).append(NEWLINE);
+
+        // Display lanes
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            appendLane(board, lane);
+        }
+
+        // Display suit piles
+        frame.append(RULE).append(NEWLINE);
+        frame.append("                            Suit Piles").append(NEWLINE);
+        frame.append(RULE).append(NEWLINE);
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            appendPile(board, pile);
+        }
+        flush(game);
+    }
+
+    // Display only the lines that changed since the last frame; nothing at all when the board is unchanged
+    public void renderChanges(PatienceGameEngine game) {
+        if (!drawn) {
+            render(game);
+            return;
+        }
+        GameBoard board = game.getBoard();
+        frame.setLength(0);
+        if (game.getTotalScore() != lastScore || game.getMoveCounter() != lastMoves) {
+            appendScore(game);
+        }
+        if (board.stockSize() != lastBoard.stockSize()) {
+            appendDrawPile(board);
+        }
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            if (laneChanged(board, lane)) {
+                appendLane(board, lane);
+            }
+        }
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            if (board.pileTop(pile) != lastBoard.pileTop(pile)) {
+                appendPile(board, pile);
+            }
+        }
+        flush(game);
+    }
+
+    private boolean laneChanged(GameBoard board, int lane) {
+        int size = board.laneSize(lane);
+        if (size != lastBoard.laneSize(lane)) {
+            return true;
+        }
+        for (int position = 0; position < size; position++) {
+            if (board.cardAt(lane, position) != lastBoard.cardAt(lane, position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void appendScore(PatienceGameEngine game) {
+        frame.append("Score: ").append(game.getTotalScore()).append(" || Moves: ").append(game.getMoveCounter()).append(NEWLINE);
+    }
+
+    private void appendDrawPile(GameBoard board) {
+        frame.append("Draw Pile: ").append(board.stockSize()).append(" cards remaining.").append(NEWLINE);
+    }
+
+    private void appendLane(GameBoard board, int lane) {
+        frame.append("Lane ").append(lane + 1).append(": ");
+        int size = board.laneSize(lane);
+        if (size == 0) {
+            frame.append("<- Empty ->");
+        }
+        for (int position = 0; position < size; position++) {
+            int card = board.cardAt(lane, position);
+            if (CardCodes.isHidden(card)) {  // If the card is hidden, show *; otherwise, show the card
+                frame.append('*');
+            } else {
+                appendCard(card);
+            }
+            frame.append(' ');
+        }
+        frame.append(NEWLINE);
+    }
+
+    // Every card of a pile from the Ace up, e.g. [AH, 2H]
+    private void appendPile(GameBoard board, int pile) {
+        frame.append(PILE_LABELS[pile]).append('[');
+        int top = board.pileTop(pile);
+        for (int rank = CardCodes.ACE; top != 0 && rank <= CardCodes.rank(top); rank++) {
+            if (rank > CardCodes.ACE) {
+                frame.append(", ");
+            }
+            appendCard(CardCodes.encode(CardCodes.suit(top), rank, false));
+        }
+        frame.append(']').append(NEWLINE);
+    }
+
+    private void appendCard(int card) {
+        frame.append(CardCodes.RANK_LABELS[CardCodes.rank(card)]).append(CardCodes.SUIT_LABELS[CardCodes.suit(card)]);
+    }
+
+    // Write the frame in one go and remember what it showed
+    private void flush(PatienceGameEngine game) {
+        int length = frame.length();
+        if (length > 0) {
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) frame.charAt(i);  // Frames are plain ASCII
+            }
+            out.write(bytes, 0, length);
+            out.flush();
+        }
+        lastBoard.copyFrom(game.getBoard());
+        lastScore = game.getTotalScore();
+        lastMoves = game.getMoveCounter();
+        drawn = true;
+    }
+
+    // Print the message for a move result, if it has one
+    public void report(MoveResult result, PatienceGameEngine game) {
+        String message = result.getMessage();
+        if (message == null) {
+            return;
+        }
+        switch (result) {
+            case MOVED_TO_LANE:
+                out.println(String.format(message, game.getLastCard(), game.getLastTarget() + 1));
+                break;
+            case MOVED_TO_SUIT_PILE:
+                out.println(String.format(message, game.getLastCard(), CardCodes.SUIT_LABELS[game.getLastTarget()]));
+                break;
+            case DREW:
+                out.println(String.format(message, game.getLastCard()));
+                break;
+            default:
+                out.println(message);
+                break;
+        }
+    }
+}
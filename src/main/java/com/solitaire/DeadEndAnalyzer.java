@@ -0,0 +1,58 @@
+package com.solitaire;
+
+// Cheap proofs that a game can no longer be won, for telling players early and for screening deals.
+// It looks at face-down cards too, so it sees the deal as dealt rather than as the player sees it.
+// Two tests, both linear in the number of cards:
+//   - Stuck card: a card whose suit still has a lower card somewhere beneath it in the same lane, and
+//     whose two possible parents (one rank higher, other colour) are both beneath it as well. Cards keep
+//     their order within a lane, so it can never reach a parent and never reach its suit pile ahead of
+//     that lower card. Cards the rules let into an empty lane, Kings in the standard rules, are never stuck,
+//     nor is a card lying face up on a parent: it leaves the lane with the run beneath it.
+//   - No productive move: nothing but drawing is possible and no card in the draw pile could ever be
+//     played, see MoveGenerator.hasProductiveMove.
+// Neither test finds every lost game; a full solve does, at orders of magnitude more cost.
+final class DeadEndAnalyzer {
+    private DeadEndAnalyzer() {
+    }
+
+    static boolean isLost(GameBoard board, MoveBuffer buffer) {
+        return !board.isWon() && (findStuckCard(board) != 0 || !MoveGenerator.hasProductiveMove(board, buffer));
+    }
+
+    // A card that can never leave its lane, without the hidden bit, or 0 when there is none
+    static int findStuckCard(GameBoard board) {
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            long beneath = 0;  // One bit per card below the current position, see bit()
+            int under = 0;
+            for (int position = 0; position < board.laneSize(lane); position++) {
+                int card = board.cardAt(lane, position) & CardCodes.FACE_MASK;
+                boolean inRun = under != 0 && !CardCodes.isHidden(under) && CardCodes.canStack(card, under);
+                if (!inRun && !board.rules().fillsEmptyLane(card) && isStuck(card, beneath)) {
+                    return card;
+                }
+                beneath |= 1L << bit(CardCodes.suit(card), CardCodes.rank(card));
+                under = board.cardAt(lane, position);
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isStuck(int card, long beneath) {
+        int suit = CardCodes.suit(card);
+        int rank = CardCodes.rank(card);
+        if (rank == CardCodes.KING || rank == CardCodes.ACE) {
+            return false;
+        }
+        long lowerOfSuit = ((1L << (rank - 1)) - 1) << bit(suit, CardCodes.ACE);
+        if ((beneath & lowerOfSuit) == 0) {
+            return false;
+        }
+        int firstParentSuit = CardCodes.isRed(card) ? 2 : 0;
+        long parents = 1L << bit(firstParentSuit, rank + 1) | 1L << bit(firstParentSuit + 1, rank + 1);
+        return (beneath & parents) == parents;
+    }
+
+    private static int bit(int suit, int rank) {
+        return suit * CardCodes.KING + rank - 1;
+    }
+}
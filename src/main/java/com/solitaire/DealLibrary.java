@@ -0,0 +1,185 @@
+package com.solitaire;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+// Read-only view of a deal library: seeds of deals the solver has won, sorted by difficulty, so a
+// caller can hand out an easy, medium or hard deal that is known to be winnable. Build one with
+// DealLibraryBuilder. The file is big-endian and fixed-size throughout:
+//   header: 4-byte MAGIC, int deal count, int first MEDIUM difficulty, int first HARD difficulty
+//   deals:  RECORD_SIZE bytes each, in ascending (difficulty, seed) order:
+//           int difficulty, long seed, int nodes searched, short solution moves, short recycles
+// The file is memory-mapped and records are read in place, so a lookup is a binary search over the
+// page cache and nothing but this object lives on the heap. One mapping is limited to 2 GB, which is
+// about 100 million deals.
+final class DealLibrary implements Closeable {
+    static final byte[] MAGIC = {'P', 'D', 'L', 1};
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 20;
+    static final int RECYCLE_WEIGHT = 100;
+
+    // Header offsets
+    private static final int COUNT = 4;
+    private static final int MEDIUM_FROM = 8;
+    private static final int HARD_FROM = 12;
+
+    // Record offsets
+    private static final int DIFFICULTY = 0;
+    private static final int SEED = 4;
+    private static final int NODES = 12;
+    private static final int MOVES = 16;
+    private static final int RECYCLES = 18;
+
+    enum Difficulty {
+        EASY, MEDIUM, HARD
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int mediumFrom;
+    private final int hardFrom;
+
+    private DealLibrary(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                throw new IOException("Not a deal library");
+            }
+        }
+        this.size = buffer.getInt(COUNT);
+        this.mediumFrom = buffer.getInt(MEDIUM_FROM);
+        this.hardFrom = buffer.getInt(HARD_FROM);
+        if (size < 0 || HEADER_SIZE + (long) size * RECORD_SIZE != buffer.capacity()) {
+            throw new IOException("Deal library holds " + buffer.capacity() + " bytes, not " + size + " deals");
+        }
+    }
+
+    static DealLibrary open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not a deal library");
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Deal library is larger than one mapping: " + fileSize + " bytes");
+            }
+            return new DealLibrary(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // The sort key: solver effort in nodes, plus RECYCLE_WEIGHT per pass through the draw pile the
+    // solution needs. Most deals fall straight out of the search in about as many nodes as moves, so
+    // recycles separate those, while deals that needed real backtracking rank above them all.
+    static int difficulty(long nodes, int recycles) {
+        return (int) Math.min(nodes + (long) RECYCLE_WEIGHT * recycles, Integer.MAX_VALUE);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long seedAt(int index) {
+        return buffer.getLong(offset(index) + SEED);
+    }
+
+    int difficultyAt(int index) {
+        return buffer.getInt(offset(index) + DIFFICULTY);
+    }
+
+    int nodesAt(int index) {
+        return buffer.getInt(offset(index) + NODES);
+    }
+
+    int solutionMovesAt(int index) {
+        return buffer.getShort(offset(index) + MOVES);
+    }
+
+    int recyclesAt(int index) {
+        return buffer.getShort(offset(index) + RECYCLES);
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Deal " + index + " of " + size);
+        }
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    // Index of the first deal at least as hard as 'difficulty', or size() when there is none
+    int lowerBound(int difficulty) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (difficultyAt(middle) < difficulty) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Index of the first deal in 'bucket'. The builder splits the library into thirds by difficulty,
+    // so buckets are equal in size except where deals of equal difficulty straddle a boundary.
+    int firstIndex(Difficulty bucket) {
+        switch (bucket) {
+            case EASY:
+                return 0;
+            case MEDIUM:
+                return lowerBound(mediumFrom);
+            default:
+                return lowerBound(hardFrom);
+        }
+    }
+
+    // Index after the last deal in 'bucket'
+    int endIndex(Difficulty bucket) {
+        switch (bucket) {
+            case EASY:
+                return lowerBound(mediumFrom);
+            case MEDIUM:
+                return lowerBound(hardFrom);
+            default:
+                return size;
+        }
+    }
+
+    // Seed of a deal drawn uniformly from 'bucket'
+    long pick(Difficulty bucket, SplittableRandom random) {
+        int first = firstIndex(bucket);
+        int end = endIndex(bucket);
+        if (first >= end) {
+            throw new NoSuchElementException("No " + bucket + " deals in the library");
+        }
+        return seedAt(first + random.nextInt(end - first));
+    }
+
+    // Seed of a deal drawn uniformly from the deals whose difficulty is in [from, to)
+    long pick(int from, int to, SplittableRandom random) {
+        int first = lowerBound(from);
+        int end = lowerBound(to);
+        if (first >= end) {
+            throw new NoSuchElementException("No deals with difficulty in [" + from + ", " + to + ")");
+        }
+        return seedAt(first + random.nextInt(end - first));
+    }
+
+    // The mapping itself is released when the buffer is collected
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
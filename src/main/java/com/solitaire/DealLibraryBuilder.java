@@ -0,0 +1,158 @@
+package com.solitaire;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Offline pipeline for DealLibrary files: deals seeds firstSeed, firstSeed + 1, ..., solves each one
+// and writes the deals the solver won, sorted by difficulty. Deals the dead-end analyser already proves
+// lost are skipped without a search, and deals the solver gives up on are left out, so every deal in
+// the library is known to be winnable.
+// Worker w solves seeds w, w + threads, ... with its own solver, and the output is sorted by
+// (difficulty, seed), so the file does not depend on the number of threads.
+final class DealLibraryBuilder {
+    static final int TABLE_BITS = 20;  // 1M entries, 8 MB per worker
+    static final long DEFAULT_NODE_LIMIT = 200_000;
+
+    private final int threads;
+    private final long nodeLimit;
+
+    DealLibraryBuilder(int threads, long nodeLimit) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed: " + threads);
+        }
+        this.threads = threads;
+        this.nodeLimit = nodeLimit;
+    }
+
+    // Metrics for one won deal, see DealLibrary for the file layout
+    static final class Entry {
+        final long seed;
+        final int difficulty;
+        final int nodes;
+        final int moves;
+        final int recycles;
+
+        Entry(long seed, SolveResult result) {
+            int passes = 0;
+            for (int move : result.getMoves()) {
+                if (Moves.type(move) == Moves.RECYCLE) {
+                    passes++;
+                }
+            }
+            this.seed = seed;
+            this.nodes = (int) Math.min(result.getNodes(), Integer.MAX_VALUE);
+            this.moves = result.getMoves().length;
+            this.recycles = passes;
+            this.difficulty = DealLibrary.difficulty(result.getNodes(), passes);
+        }
+    }
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.<Entry>comparingInt(entry -> entry.difficulty).thenComparingLong(entry -> entry.seed);
+
+    // Solve 'deals' seeds from 'firstSeed', write the won ones to 'file' and return how many there were
+    int build(long firstSeed, long deals, Path file) throws IOException, InterruptedException {
+        List<Entry> entries = solveAll(firstSeed, deals);
+        entries.sort(ORDER);
+        write(entries, file);
+        return entries.size();
+    }
+
+    List<Entry> solveAll(long firstSeed, long deals) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<Entry>>> futures = new ArrayList<>();
+        try {
+            for (int w = 0; w < threads; w++) {
+                int worker = w;
+                futures.add(executor.submit(() -> solveShare(worker, firstSeed, deals)));
+            }
+            List<Entry> entries = new ArrayList<>();
+            for (Future<List<Entry>> future : futures) {
+                entries.addAll(future.get());
+            }
+            return entries;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Deal library worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Entry> solveShare(int worker, long firstSeed, long deals) {
+        Solver solver = new Solver(TABLE_BITS, nodeLimit);
+        GameBoard board = new GameBoard();
+        MoveBuffer moves = new MoveBuffer();
+        byte[] deck = new byte[CardCodes.DECK_SIZE];
+        List<Entry> entries = new ArrayList<>();
+        for (long deal = worker; deal < deals; deal += threads) {
+            long seed = firstSeed + deal;
+            Deals.shuffledDeck(deck, seed);
+            Deals.deal(board, deck);
+            if (DeadEndAnalyzer.isLost(board, moves)) {
+                continue;
+            }
+            SolveResult result = solver.solve(board);
+            if (result.isSolved()) {
+                entries.add(new Entry(seed, result));
+            }
+        }
+        return entries;
+    }
+
+    // Write 'entries', already in ORDER, through a temporary file so readers never see a partial library
+    static void write(List<Entry> entries, Path file) throws IOException {
+        int count = entries.size();
+        int mediumFrom = count == 0 ? 0 : entries.get(count / 3).difficulty;
+        int hardFrom = count == 0 ? 0 : entries.get(2 * count / 3).difficulty;
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.write(DealLibrary.MAGIC);
+            out.writeInt(count);
+            out.writeInt(mediumFrom);
+            out.writeInt(hardFrom);
+            for (Entry entry : entries) {
+                out.writeInt(entry.difficulty);
+                out.writeLong(entry.seed);
+                out.writeInt(entry.nodes);
+                out.writeShort(entry.moves);
+                out.writeShort(entry.recycles);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Usage: DealLibraryBuilder <file> [deals] [first seed] [threads] [node limit]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path file = Path.of(args.length > 0 ? args[0] : "deals.pdl");
+        long deals = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+        long firstSeed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long nodeLimit = args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_NODE_LIMIT;
+
+        long start = System.nanoTime();
+        int won = new DealLibraryBuilder(threads, nodeLimit).build(firstSeed, deals, file);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d of %d deals won and written to %s in %.1f s%n", won, deals, file, seconds);
+        try (DealLibrary library = DealLibrary.open(file)) {
+            for (DealLibrary.Difficulty bucket : DealLibrary.Difficulty.values()) {
+                int first = library.firstIndex(bucket);
+                int end = library.endIndex(bucket);
+                if (first < end) {
+                    System.out.printf("%-6s %d deals, difficulty %d to %d%n", bucket, end - first,
+                            library.difficultyAt(first), library.difficultyAt(end - 1));
+                }
+            }
+        }
+    }
+}
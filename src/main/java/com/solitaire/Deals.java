@@ -0,0 +1,111 @@
+package com.solitaire;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Reproducible deals. A deck is a byte[52] of card codes in dealing order: the first 28 cards go out
+// lane by lane, each lane's last card face up, and the remaining 24 form the draw pile, drawn in order.
+// Shuffling is an in-place Fisher-Yates on that array, so dealing allocates nothing once the caller
+// holds a deck buffer.
+final class Deals {
+    private static final int DEALT_TO_LANES = GameBoard.LANES * (GameBoard.LANES + 1) / 2;
+
+    // SplittableRandom's increment, see shuffledDeck
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    // Microsoft deal number generator: the C runtime rand() used by Windows FreeCell
+    private static final int MS_MULTIPLIER = 214013;
+    private static final int MS_INCREMENT = 2531011;
+    private static final int[] MS_SUITS = {2, 1, 0, 3};  // Microsoft card order is rank-major in C, D, H, S
+
+    private Deals() {
+    }
+
+    // A fresh seed for a game nobody asked to reproduce
+    static long randomSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    // Fill 'deck' with the 52 cards in suit and rank order
+    static void orderedDeck(byte[] deck) {
+        for (int i = 0; i < CardCodes.DECK_SIZE; i++) {
+            deck[i] = (byte) CardCodes.fromIndex(i);
+        }
+    }
+
+    // Fisher-Yates shuffle of the whole deck
+    static void shuffle(byte[] deck, SplittableRandom random) {
+        for (int i = CardCodes.DECK_SIZE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+    }
+
+    // The deck for a 64-bit seed; the same seed always gives the same deal.
+    // This is shuffle(deck, new SplittableRandom(seed)) with the generator's state kept in a local, so
+    // dealing a game allocates nothing: the same numbers, hence the same deals as earlier releases.
+    static void shuffledDeck(byte[] deck, long seed) {
+        orderedDeck(deck);
+        long state = seed;
+        for (int i = CardCodes.DECK_SIZE - 1; i > 0; i--) {
+            // SplittableRandom.nextInt(i + 1), rejecting the biased top of the range
+            int bound = i + 1;
+            state += GOLDEN_GAMMA;
+            int r = mix32(state);
+            int m = bound - 1;
+            if ((bound & m) == 0) {
+                r &= m;
+            } else {
+                int u = r >>> 1;
+                while (u + m - (r = u % bound) < 0) {
+                    state += GOLDEN_GAMMA;
+                    u = mix32(state) >>> 1;
+                }
+            }
+            byte card = deck[i];
+            deck[i] = deck[r];
+            deck[r] = card;
+        }
+    }
+
+    // SplittableRandom's output function
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    // The deck for a Microsoft deal number, dealt in the same card order as Windows FreeCell game 'number'
+    static void microsoftDeck(byte[] deck, int number) {
+        // Shuffle Microsoft card numbers in place, then translate them to card codes
+        for (int i = 0; i < CardCodes.DECK_SIZE; i++) {
+            deck[i] = (byte) (CardCodes.DECK_SIZE - 1 - i);
+        }
+        int state = number;
+        for (int i = 0; i < CardCodes.DECK_SIZE - 1; i++) {
+            state = (state * MS_MULTIPLIER + MS_INCREMENT) & Integer.MAX_VALUE;
+            int j = CardCodes.DECK_SIZE - 1 - (state >>> 16) % (CardCodes.DECK_SIZE - i);
+            byte card = deck[i];
+            deck[i] = deck[j];
+            deck[j] = card;
+        }
+        for (int i = 0; i < CardCodes.DECK_SIZE; i++) {
+            int card = deck[i];
+            deck[i] = (byte) CardCodes.encode(MS_SUITS[card % CardCodes.SUITS], card / CardCodes.SUITS + 1, false);
+        }
+    }
+
+    // Lay 'deck' out on a cleared board
+    static void deal(GameBoard board, byte[] deck) {
+        board.clear();
+        int next = 0;
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            for (int depth = 0; depth <= lane; depth++) {
+                int card = deck[next++] & CardCodes.FACE_MASK;
+                board.pushLane(lane, depth == lane ? card : card | CardCodes.HIDDEN_BIT);
+            }
+        }
+        board.setStock(deck, DEALT_TO_LANES, CardCodes.DECK_SIZE - DEALT_TO_LANES);
+    }
+}
@@ -0,0 +1,202 @@
+package com.solitaire;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Counters and a latency histogram for engines, shared by any number of engines and threads.
+// Everything is a LongAdder, so recording never locks and threads on different cores do not contend.
+// Engines only record when a metrics object is set, see PatienceGameEngine.setMetrics; without one the
+// cost is a null check per command and per move. A call to one of the engine's public move methods
+// counts as a command as well.
+final class EngineMetrics implements EngineMetricsMXBean {
+    private static final String[] MOVE_TYPES = {"", "LANE_TO_LANE", "LANE_TO_PILE", "WASTE_TO_LANE", "WASTE_TO_PILE", "DRAW", "RECYCLE"};
+    private static final int LATENCY_BUCKETS = 64;  // Bucket b holds latencies in [2^(b-1), 2^b) nanoseconds
+
+    private final LongAdder[] results = adders(MoveResult.values().length);
+    private final LongAdder[] moves = adders(MOVE_TYPES.length);
+    private final LongAdder[] latency = adders(LATENCY_BUCKETS);
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAccumulator latencyMax = new LongAccumulator(Math::max, 0);
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // Called by the engine for every command it handles and every public move method call
+    void commandHandled(MoveResult result, long nanos) {
+        results[result.ordinal()].increment();
+        latency[Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();  // Bit length picks the bucket
+        latencySum.add(nanos);
+        latencyMax.accumulate(nanos);
+    }
+
+    // Called by the engine for every move it applies, whether from a command or the move methods
+    void moveApplied(int move) {
+        moves[Moves.type(move)].increment();
+    }
+
+    long getResultCount(MoveResult result) {
+        return results[result.ordinal()].sum();
+    }
+
+    long getMoveCount(int moveType) {
+        return moves[moveType].sum();
+    }
+
+    @Override
+    public long getCommands() {
+        long commands = 0;
+        for (LongAdder result : results) {
+            commands += result.sum();
+        }
+        return commands;
+    }
+
+    @Override
+    public long getMovesApplied() {
+        long applied = 0;
+        for (LongAdder move : moves) {
+            applied += move.sum();
+        }
+        return applied;
+    }
+
+    @Override
+    public long getRejectedCommands() {
+        long rejected = 0;
+        for (MoveResult result : MoveResult.values()) {
+            if (!result.isSuccess()) {
+                rejected += results[result.ordinal()].sum();
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public long getRecycles() {
+        return moves[Moves.RECYCLE].sum();
+    }
+
+    @Override
+    public long getOscillations() {
+        return getResultCount(MoveResult.OSCILLATION);
+    }
+
+    @Override
+    public double getMeanCommandNanos() {
+        long commands = getCommands();
+        return commands == 0 ? 0 : (double) latencySum.sum() / commands;
+    }
+
+    @Override
+    public long getP50CommandNanos() {
+        return percentileNanos(0.5);
+    }
+
+    @Override
+    public long getP99CommandNanos() {
+        return percentileNanos(0.99);
+    }
+
+    @Override
+    public long getMaxCommandNanos() {
+        return latencyMax.get();
+    }
+
+    // Upper bound of the histogram bucket holding the given fraction of commands, 0 before any command
+    long percentileNanos(double fraction) {
+        long[] counts = new long[LATENCY_BUCKETS];
+        long total = 0;
+        for (int b = 0; b < LATENCY_BUCKETS; b++) {
+            counts[b] = latency[b].sum();
+            total += counts[b];
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int b = 0; b < LATENCY_BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank && seen > 0) {
+                return b == LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : 1L << b;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public Map<String, Long> getResultCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (MoveResult result : MoveResult.values()) {
+            counts.put(result.name(), results[result.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getMoveCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int type = 1; type < MOVE_TYPES.length; type++) {
+            counts.put(MOVE_TYPES[type], moves[type].sum());
+        }
+        return counts;
+    }
+
+    // Plain-text dump, one "name value" pair per line, for logs and scraping
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append("commands ").append(getCommands()).append('\n');
+        out.append("commands.rejected ").append(getRejectedCommands()).append('\n');
+        out.append("moves ").append(getMovesApplied()).append('\n');
+        getMoveCounts().forEach((type, count) -> out.append("moves.").append(type).append(' ').append(count).append('\n'));
+        getResultCounts().forEach((result, count) -> out.append("results.").append(result).append(' ').append(count).append('\n'));
+        out.append("latency.mean_ns ").append(Math.round(getMeanCommandNanos())).append('\n');
+        out.append("latency.p50_ns ").append(getP50CommandNanos()).append('\n');
+        out.append("latency.p99_ns ").append(getP99CommandNanos()).append('\n');
+        out.append("latency.max_ns ").append(getMaxCommandNanos()).append('\n');
+        for (int b = 0; b < LATENCY_BUCKETS; b++) {
+            long count = latency[b].sum();
+            if (count > 0) {
+                out.append("latency.lt_").append(1L << b).append("_ns ").append(count).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    // Not atomic: commands recorded during a reset may be partly kept
+    @Override
+    public void reset() {
+        for (LongAdder adder : results) {
+            adder.reset();
+        }
+        for (LongAdder adder : moves) {
+            adder.reset();
+        }
+        for (LongAdder adder : latency) {
+            adder.reset();
+        }
+        latencySum.reset();
+        latencyMax.reset();
+    }
+
+    // Register with the platform MBean server as com.solitaire:type=EngineMetrics,name=<name>
+    ObjectName register(String name) {
+        try {
+            ObjectName objectName = ObjectName.getInstance("com.solitaire:type=EngineMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register engine metrics as " + name, e);
+        }
+    }
+}
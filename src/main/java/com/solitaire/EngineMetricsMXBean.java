@@ -0,0 +1,34 @@
+package com.solitaire;
+
+import java.util.Map;
+
+// JMX view of EngineMetrics, registered with EngineMetrics.register()
+public interface EngineMetricsMXBean {
+    long getCommands();
+
+    long getMovesApplied();
+
+    // Commands that changed nothing: invalid input, illegal moves and oscillations
+    long getRejectedCommands();
+
+    long getRecycles();
+
+    long getOscillations();
+
+    double getMeanCommandNanos();
+
+    // Percentiles are the upper bounds of power-of-two histogram buckets
+    long getP50CommandNanos();
+
+    long getP99CommandNanos();
+
+    long getMaxCommandNanos();
+
+    Map<String, Long> getResultCounts();
+
+    Map<String, Long> getMoveCounts();
+
+    String dump();
+
+    void reset();
+}
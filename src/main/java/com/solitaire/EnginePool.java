@@ -0,0 +1,34 @@
+package com.solitaire;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+// Engines kept between games, so a host that starts games at a high rate deals them into engines it
+// already has instead of building new ones. The queue is array-backed, so taking and returning an
+// engine allocates nothing; engines returned to a full pool are left to the garbage collector.
+// Any thread may acquire and release, but an engine must not be used after it is released.
+final class EnginePool {
+    private final ArrayBlockingQueue<PatienceGameEngine> idle;
+
+    EnginePool(int capacity) {
+        this.idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+    // An engine dealt from 'seed' under 'rules', reused from the pool when one is waiting
+    PatienceGameEngine acquire(long seed, GameRules rules) {
+        PatienceGameEngine engine = idle.poll();
+        if (engine == null) {
+            return new PatienceGameEngine(seed, rules);
+        }
+        engine.reset(seed, rules);
+        return engine;
+    }
+
+    void release(PatienceGameEngine engine) {
+        idle.offer(engine);
+    }
+
+    // Engines waiting to be reused
+    int size() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,653 @@
+package com.solitaire;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// Fixed-size game state backed by a single byte array.
+// Cards are stored as CardCodes values, so the whole board can be copied with one System.arraycopy
+// and every mutation below runs without allocating.
+final class GameBoard {
+    static final int LANES = 7;
+    static final int LANE_CAPACITY = 20;  // 6 face-down cards plus a full King..Ace run need 19 slots
+    static final int PILES = 4;
+    static final int TALON_CAPACITY = 24;  // Cards left over after the deal
+
+    // Layout of the state array
+    private static final int LANE_BASE = 0;
+    private static final int TALON_BASE = LANE_BASE + LANES * LANE_CAPACITY;
+    private static final int LANE_SIZE = TALON_BASE + TALON_CAPACITY;
+    private static final int PILE_TOP = LANE_SIZE + LANES;  // Top card of each suit pile, 0 when empty
+    private static final int TALON_SIZE = PILE_TOP + PILES;  // Cards in the stock and waste together
+    private static final int WASTE_SIZE = TALON_SIZE + 1;  // Cursor splitting the talon into waste and stock
+    private static final int RUN_LENGTH = WASTE_SIZE + 1;  // Length of the movable run on top of each lane
+    private static final int RECYCLES = RUN_LENGTH + LANES;  // Times the waste was turned over, when the rules limit it
+    static final int STATE_SIZE = RECYCLES + 1;
+
+    // Layout of the records returned by make(): the move code, then what unmake() needs to restore
+    static final int RECORD_MOVE_BITS = 18;
+    private static final int RECORD_EXTRA_SHIFT = 18;  // Waste size before a draw or recycle
+    private static final long RECORD_FLIPPED_BIT = 1L << 24;  // The uncovered source card was turned up
+    static final int RECORD_BITS = 25;
+
+    // The talon is kept in draw order: [0, wasteSize) is the waste with its top at wasteSize - 1,
+    // [wasteSize, talonSize) is the stock with its top at wasteSize. Drawing only moves the cursor.
+    // Unused slots are always zero, so two equal positions have equal arrays.
+    final byte[] state = new byte[STATE_SIZE];
+
+    // Zobrist hash of the position, updated by every mutation below so it always equals Zobrist.hash(this)
+    private long hash = Zobrist.wasteSizeKey(0);
+    private final long[] laneHashes = new long[LANES];  // Combined keys of each lane, before Zobrist.mixLane
+
+    // The variant being played; it decides how many cards a draw turns, when the waste may be recycled
+    // and what may fill an empty lane. Not part of the state array, since it never changes during a game.
+    private GameRules rules = GameRules.CLASSIC;
+
+    void clear() {
+        Arrays.fill(state, (byte) 0);
+        Arrays.fill(laneHashes, 0);
+        hash = Zobrist.wasteSizeKey(0);
+    }
+
+    void copyFrom(GameBoard other) {
+        System.arraycopy(other.state, 0, state, 0, STATE_SIZE);
+        hash = other.hash;
+        System.arraycopy(other.laneHashes, 0, laneHashes, 0, LANES);
+        rules = other.rules;
+    }
+
+    long hash() {
+        return hash;
+    }
+
+    // True when 'other' holds the same position up to the order of the lanes and suit piles, the positions
+    // the hash treats as equal. Confirms a hash match without trusting it.
+    boolean samePosition(GameBoard other) {
+        if (other.hash != hash
+                || !Arrays.equals(state, TALON_BASE, LANE_SIZE, other.state, TALON_BASE, LANE_SIZE)
+                || !Arrays.equals(state, TALON_SIZE, RUN_LENGTH, other.state, TALON_SIZE, RUN_LENGTH)
+                || state[RECYCLES] != other.state[RECYCLES]) {
+            return false;
+        }
+        for (int suit = 0; suit < CardCodes.SUITS; suit++) {
+            if (suitHeight(suit) != other.suitHeight(suit)) {
+                return false;
+            }
+        }
+        int matched = 0;  // Lanes of 'other' already paired with one of ours
+        for (int lane = 0; lane < LANES; lane++) {
+            int from = LANE_BASE + lane * LANE_CAPACITY;
+            int to = from + laneSize(lane);
+            int match = 0;
+            while (match < LANES && ((matched & 1 << match) != 0 || other.laneSize(match) != laneSize(lane)
+                    || !Arrays.equals(state, from, to, other.state, LANE_BASE + match * LANE_CAPACITY,
+                            LANE_BASE + match * LANE_CAPACITY + laneSize(lane)))) {
+                match++;
+            }
+            if (match == LANES) {
+                return false;
+            }
+            matched |= 1 << match;
+        }
+        return true;
+    }
+
+    GameRules rules() {
+        return rules;
+    }
+
+    // Switch variant, normally on a cleared board before dealing
+    void setRules(GameRules rules) {
+        this.rules = rules;
+    }
+
+    // Combined keys of the lane cards at depths [from, to)
+    private long laneKeys(int lane, int from, int to) {
+        int base = LANE_BASE + lane * LANE_CAPACITY;
+        long keys = 0;
+        for (int depth = from; depth < to; depth++) {
+            keys ^= Zobrist.laneKey(state[base + depth], depth);
+        }
+        return keys;
+    }
+
+    // Toggle 'keys' in the combined keys of a lane and swap the lane's share of the hash
+    private void toggleLaneKeys(int lane, long keys) {
+        long before = laneHashes[lane];
+        laneHashes[lane] = before ^ keys;
+        hash ^= Zobrist.mixLane(before) ^ Zobrist.mixLane(before ^ keys);
+    }
+
+    // Combined keys of the talon cards at positions [from, to)
+    private long talonKeys(int from, int to) {
+        long keys = 0;
+        for (int position = from; position < to; position++) {
+            keys ^= Zobrist.talonKey(state[TALON_BASE + position], position);
+        }
+        return keys;
+    }
+
+    private void setWasteSize(int wasteSize) {
+        hash ^= Zobrist.wasteSizeKey(state[WASTE_SIZE]) ^ Zobrist.wasteSizeKey(wasteSize);
+        state[WASTE_SIZE] = (byte) wasteSize;
+    }
+
+    void setRecycles(int recycles) {
+        hash ^= Zobrist.recyclesKey(state[RECYCLES]) ^ Zobrist.recyclesKey(recycles);
+        state[RECYCLES] = (byte) recycles;
+    }
+
+    // Lanes
+
+    int laneSize(int lane) {
+        return state[LANE_SIZE + lane];
+    }
+
+    int cardAt(int lane, int position) {
+        return state[LANE_BASE + lane * LANE_CAPACITY + position];
+    }
+
+    // Number of face-up cards on top of a lane that form a valid descending, alternating run.
+    // Kept up to date by every lane mutation, so move generation never rescans the lanes.
+    int runLength(int lane) {
+        return state[RUN_LENGTH + lane];
+    }
+
+    // Top card of a lane, or 0 when the lane is empty
+    int laneTop(int lane) {
+        int size = state[LANE_SIZE + lane];
+        return size == 0 ? 0 : state[LANE_BASE + lane * LANE_CAPACITY + size - 1];
+    }
+
+    void setCard(int lane, int position, int code) {
+        toggleLaneKeys(lane, Zobrist.laneKey(cardAt(lane, position), position) ^ Zobrist.laneKey(code, position));
+        state[LANE_BASE + lane * LANE_CAPACITY + position] = (byte) code;
+        recomputeRun(lane);
+    }
+
+    void pushLane(int lane, int code) {
+        int top = laneTop(lane);
+        int run = runLength(lane);
+        insertRaw(lane, laneSize(lane), code);
+        if (CardCodes.isHidden(code)) {
+            state[RUN_LENGTH + lane] = 0;
+        } else {
+            state[RUN_LENGTH + lane] = (byte) (run > 0 && CardCodes.canStack(code, top) ? run + 1 : 1);
+        }
+    }
+
+    int popLane(int lane) {
+        int run = runLength(lane);
+        int code = removeRaw(lane, laneSize(lane) - 1);
+        if (run > 1) {
+            state[RUN_LENGTH + lane] = (byte) (run - 1);
+        } else {
+            recomputeRun(lane);
+        }
+        return code;
+    }
+
+    void insertCard(int lane, int position, int code) {
+        insertRaw(lane, position, code);
+        recomputeRun(lane);
+    }
+
+    int removeCard(int lane, int position) {
+        int code = removeRaw(lane, position);
+        recomputeRun(lane);
+        return code;
+    }
+
+    private void insertRaw(int lane, int position, int code) {
+        int size = laneSize(lane);
+        if (size == LANE_CAPACITY) {
+            throw new IllegalStateException("Lane " + (lane + 1) + " is full.");
+        }
+        int base = LANE_BASE + lane * LANE_CAPACITY;
+        toggleLaneKeys(lane, laneKeys(lane, position, size));
+        System.arraycopy(state, base + position, state, base + position + 1, size - position);
+        state[base + position] = (byte) code;
+        state[LANE_SIZE + lane] = (byte) (size + 1);
+        toggleLaneKeys(lane, laneKeys(lane, position, size + 1));
+    }
+
+    private int removeRaw(int lane, int position) {
+        int size = laneSize(lane);
+        int base = LANE_BASE + lane * LANE_CAPACITY;
+        int code = state[base + position];
+        toggleLaneKeys(lane, laneKeys(lane, position, size));
+        System.arraycopy(state, base + position + 1, state, base + position, size - position - 1);
+        state[base + size - 1] = 0;
+        state[LANE_SIZE + lane] = (byte) (size - 1);
+        toggleLaneKeys(lane, laneKeys(lane, position, size - 1));
+        return code;
+    }
+
+    // Drop every card from 'position' upwards
+    void truncateLane(int lane, int position) {
+        int base = LANE_BASE + lane * LANE_CAPACITY;
+        toggleLaneKeys(lane, laneKeys(lane, position, laneSize(lane)));
+        Arrays.fill(state, base + position, base + laneSize(lane), (byte) 0);
+        state[LANE_SIZE + lane] = (byte) position;
+        recomputeRun(lane);
+    }
+
+    // Rescan the run on top of a single lane, only needed after edits the incremental updates do not cover
+    private void recomputeRun(int lane) {
+        int size = laneSize(lane);
+        int base = LANE_BASE + lane * LANE_CAPACITY;
+        int run = 0;
+        while (run < size && !CardCodes.isHidden(state[base + size - 1 - run])
+                && (run == 0 || CardCodes.canStack(state[base + size - run], state[base + size - 1 - run]))) {
+            run++;
+        }
+        state[RUN_LENGTH + lane] = (byte) run;
+    }
+
+    // Move the top 'numCards' cards of one lane onto another as a single block copy.
+    // Only the face-up run on top of a lane can move, so the count is checked against the maintained run
+    // length instead of re-checking pairs, and the copied cards need no flipping. The new top card of the
+    // source lane is turned face up.
+    void moveRun(int fromLane, int toLane, int numCards) {
+        int fromSize = laneSize(fromLane);
+        int toSize = laneSize(toLane);
+        int fromRun = runLength(fromLane);
+        if (numCards < 1 || numCards > fromRun) {
+            throw new IllegalStateException("Lane " + (fromLane + 1) + " has no run of " + numCards + " cards.");
+        }
+        if (toSize + numCards > LANE_CAPACITY) {
+            throw new IllegalStateException("Lane " + (toLane + 1) + " is full.");
+        }
+        int fromBase = LANE_BASE + fromLane * LANE_CAPACITY;
+        int toBase = LANE_BASE + toLane * LANE_CAPACITY;
+        int toRun = runLength(toLane);
+        int toTop = laneTop(toLane);
+        toggleLaneKeys(fromLane, laneKeys(fromLane, fromSize - numCards, fromSize));
+        System.arraycopy(state, fromBase + fromSize - numCards, state, toBase + toSize, numCards);
+        Arrays.fill(state, fromBase + fromSize - numCards, fromBase + fromSize, (byte) 0);
+        state[LANE_SIZE + fromLane] = (byte) (fromSize - numCards);
+        state[LANE_SIZE + toLane] = (byte) (toSize + numCards);
+        toggleLaneKeys(toLane, laneKeys(toLane, toSize, toSize + numCards));
+
+        // A run placed on a matching card extends the destination run; only a lane edited out of order
+        // through the list views needs a rescan
+        if (toSize == 0 || toRun > 0 && CardCodes.canStack(state[toBase + toSize], toTop)) {
+            state[RUN_LENGTH + toLane] = (byte) (toRun + numCards);
+        } else {
+            recomputeRun(toLane);
+        }
+        if (fromRun > numCards) {
+            state[RUN_LENGTH + fromLane] = (byte) (fromRun - numCards);
+        } else {
+            state[RUN_LENGTH + fromLane] = 0;
+            revealTop(fromLane);
+        }
+    }
+
+    // Turn the top card of a lane face up
+    void revealTop(int lane) {
+        int size = laneSize(lane);
+        if (size > 0) {
+            int top = cardAt(lane, size - 1);
+            toggleLaneKeys(lane, Zobrist.laneKey(top, size - 1) ^ Zobrist.laneKey(top & ~CardCodes.HIDDEN_BIT, size - 1));
+            state[LANE_BASE + lane * LANE_CAPACITY + size - 1] &= ~CardCodes.HIDDEN_BIT;
+            if (runLength(lane) == 0) {
+                recomputeRun(lane);
+            }
+        } else {
+            state[RUN_LENGTH + lane] = 0;
+        }
+    }
+
+    // Turn the top card of a lane face down again, used when undoing a reveal
+    private void hideTop(int lane) {
+        int size = laneSize(lane);
+        int top = cardAt(lane, size - 1);
+        toggleLaneKeys(lane, Zobrist.laneKey(top, size - 1) ^ Zobrist.laneKey(top | CardCodes.HIDDEN_BIT, size - 1));
+        state[LANE_BASE + lane * LANE_CAPACITY + size - 1] |= CardCodes.HIDDEN_BIT;
+        state[RUN_LENGTH + lane] = 0;
+    }
+
+    private boolean isSecondFromTopHidden(int lane, int numCards) {
+        int size = laneSize(lane);
+        return size > numCards && CardCodes.isHidden(cardAt(lane, size - numCards - 1));
+    }
+
+    // Make and unmake
+
+    // Apply a move that has already been checked against the rules.
+    // Returns a record that lets unmake() restore the exact previous state in constant time.
+    long make(int move) {
+        long record = move;
+        switch (Moves.type(move)) {
+            case Moves.LANE_TO_LANE: {
+                int from = Moves.from(move);
+                int numCards = Moves.count(move);
+                if (isSecondFromTopHidden(from, numCards)) {
+                    record |= RECORD_FLIPPED_BIT;
+                }
+                moveRun(from, Moves.to(move), numCards);
+                break;
+            }
+            case Moves.LANE_TO_PILE: {
+                int from = Moves.from(move);
+                if (isSecondFromTopHidden(from, 1)) {
+                    record |= RECORD_FLIPPED_BIT;
+                }
+                pushPile(Moves.to(move), popLane(from));
+                revealTop(from);
+                break;
+            }
+            case Moves.WASTE_TO_LANE:
+                pushLane(Moves.to(move), popWaste());
+                break;
+            case Moves.WASTE_TO_PILE:
+                pushPile(Moves.to(move), popWaste());
+                break;
+            case Moves.DRAW:
+                record |= (long) wasteSize() << RECORD_EXTRA_SHIFT;
+                setWasteSize(Math.min(wasteSize() + rules.drawCount, talonSize()));
+                break;
+            case Moves.RECYCLE:
+                record |= (long) wasteSize() << RECORD_EXTRA_SHIFT;
+                recycle();
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid move code: " + move);
+        }
+        return record;
+    }
+
+    // True when the move turned up the card it uncovered in its source lane
+    static boolean revealedCard(long record) {
+        return (record & RECORD_FLIPPED_BIT) != 0;
+    }
+
+    // Revert the move described by a record from make(); moves must be unmade in reverse order
+    void unmake(long record) {
+        int move = (int) (record & ((1L << RECORD_MOVE_BITS) - 1));
+        boolean flipped = (record & RECORD_FLIPPED_BIT) != 0;
+        switch (Moves.type(move)) {
+            case Moves.LANE_TO_LANE: {
+                int from = Moves.from(move);
+                int to = Moves.to(move);
+                int numCards = Moves.count(move);
+                if (flipped) {
+                    hideTop(from);
+                }
+                int fromSize = laneSize(from);
+                int toSize = laneSize(to);
+                int fromBase = LANE_BASE + from * LANE_CAPACITY;
+                int toBase = LANE_BASE + to * LANE_CAPACITY;
+                int toRun = runLength(to);
+                toggleLaneKeys(to, laneKeys(to, toSize - numCards, toSize));
+                System.arraycopy(state, toBase + toSize - numCards, state, fromBase + fromSize, numCards);
+                Arrays.fill(state, toBase + toSize - numCards, toBase + toSize, (byte) 0);
+                state[LANE_SIZE + from] = (byte) (fromSize + numCards);
+                state[LANE_SIZE + to] = (byte) (toSize - numCards);
+                toggleLaneKeys(from, laneKeys(from, fromSize, fromSize + numCards));
+
+                // The run goes back on top of whatever run it came off, and leaves the rest of the
+                // destination run behind
+                int fromRun = runLength(from);
+                boolean joins = fromRun > 0 && CardCodes.canStack(state[fromBase + fromSize], state[fromBase + fromSize - 1]);
+                state[RUN_LENGTH + from] = (byte) (joins ? fromRun + numCards : numCards);
+                if (toRun > numCards) {
+                    state[RUN_LENGTH + to] = (byte) (toRun - numCards);
+                } else {
+                    recomputeRun(to);
+                }
+                break;
+            }
+            case Moves.LANE_TO_PILE: {
+                int from = Moves.from(move);
+                if (flipped) {
+                    hideTop(from);
+                }
+                pushLane(from, popPile(Moves.to(move)));
+                break;
+            }
+            case Moves.WASTE_TO_LANE:
+                pushWaste(popLane(Moves.to(move)));
+                break;
+            case Moves.WASTE_TO_PILE:
+                pushWaste(popPile(Moves.to(move)));
+                break;
+            case Moves.DRAW:
+                setWasteSize((int) ((record >>> RECORD_EXTRA_SHIFT) & 0x3F));
+                break;
+            case Moves.RECYCLE:
+                setWasteSize((int) ((record >>> RECORD_EXTRA_SHIFT) & 0x3F));
+                setRecycles(recycles() - rules.recycleStep);
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid move record: " + record);
+        }
+    }
+
+    // Suit piles
+
+    int pileTop(int pile) {
+        return state[PILE_TOP + pile];
+    }
+
+    // A pile always runs Ace upwards, so its size is the rank of its top card
+    int pileSize(int pile) {
+        return CardCodes.rank(state[PILE_TOP + pile]);
+    }
+
+    void pushPile(int pile, int code) {
+        setPileTop(pile, code & CardCodes.FACE_MASK);
+    }
+
+    int popPile(int pile) {
+        int code = state[PILE_TOP + pile];
+        setPileTop(pile, CardCodes.rank(code) == CardCodes.ACE ? 0 : code - 1);
+        return code;
+    }
+
+    private void setPileTop(int pile, int code) {
+        hash ^= Zobrist.pileKey(state[PILE_TOP + pile]) ^ Zobrist.pileKey(code);
+        state[PILE_TOP + pile] = (byte) code;
+    }
+
+    // Number of cards of a suit already on the suit piles, whichever pile holds them
+    int suitHeight(int suit) {
+        for (int pile = 0; pile < PILES; pile++) {
+            int top = state[PILE_TOP + pile];
+            if (top != 0 && CardCodes.suit(top) == suit) {
+                return CardCodes.rank(top);
+            }
+        }
+        return 0;
+    }
+
+    boolean isWon() {
+        for (int pile = 0; pile < PILES; pile++) {
+            if (pileSize(pile) != CardCodes.KING) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Stock and waste
+
+    int stockSize() {
+        return state[TALON_SIZE] - state[WASTE_SIZE];
+    }
+
+    int wasteSize() {
+        return state[WASTE_SIZE];
+    }
+
+    // Top card of the waste, or 0 when the waste is empty
+    int wasteTop() {
+        int waste = state[WASTE_SIZE];
+        return waste == 0 ? 0 : state[TALON_BASE + waste - 1];
+    }
+
+    // Card at 'position' in draw order, covering both waste and stock
+    int talonCard(int position) {
+        return state[TALON_BASE + position];
+    }
+
+    int talonSize() {
+        return state[TALON_SIZE];
+    }
+
+    // Times the waste has been turned over; stays 0 when the rules allow unlimited recycling
+    int recycles() {
+        return state[RECYCLES];
+    }
+
+    // True when the rules allow turning the waste over once more
+    boolean canRecycle() {
+        return state[RECYCLES] < rules.maxRecycles;
+    }
+
+    // Load the stock, the first card in the array is drawn first
+    void setStock(byte[] cards, int offset, int length) {
+        if (length > TALON_CAPACITY) {
+            throw new IllegalStateException("Too many cards for the draw pile.");
+        }
+        hash ^= talonKeys(0, state[TALON_SIZE]);
+        Arrays.fill(state, TALON_BASE, TALON_BASE + TALON_CAPACITY, (byte) 0);
+        for (int i = 0; i < length; i++) {
+            state[TALON_BASE + i] = (byte) (cards[offset + i] & CardCodes.FACE_MASK);
+        }
+        state[TALON_SIZE] = (byte) length;
+        hash ^= talonKeys(0, length);
+        setWasteSize(0);
+    }
+
+    // Turn the top card of the stock onto the waste; a draw move turns rules.drawCount cards
+    void draw() {
+        setWasteSize(state[WASTE_SIZE] + 1);
+    }
+
+    int popWaste() {
+        int waste = state[WASTE_SIZE];
+        int talon = state[TALON_SIZE];
+        int code = state[TALON_BASE + waste - 1];
+        hash ^= talonKeys(waste - 1, talon);
+        System.arraycopy(state, TALON_BASE + waste, state, TALON_BASE + waste - 1, talon - waste);
+        state[TALON_BASE + talon - 1] = 0;
+        state[TALON_SIZE] = (byte) (talon - 1);
+        hash ^= talonKeys(waste - 1, talon - 1);
+        setWasteSize(waste - 1);
+        return code;
+    }
+
+    void pushWaste(int code) {
+        int waste = state[WASTE_SIZE];
+        int talon = state[TALON_SIZE];
+        hash ^= talonKeys(waste, talon);
+        System.arraycopy(state, TALON_BASE + waste, state, TALON_BASE + waste + 1, talon - waste);
+        state[TALON_BASE + waste] = (byte) (code & CardCodes.FACE_MASK);
+        state[TALON_SIZE] = (byte) (talon + 1);
+        hash ^= talonKeys(waste, talon + 1);
+        setWasteSize(waste + 1);
+    }
+
+    // Turn the waste back over onto the stock, keeping the original draw order
+    void recycle() {
+        setWasteSize(0);
+        setRecycles(recycles() + rules.recycleStep);
+    }
+
+    // Views for the List based engine API
+
+    List<PlayingCard> laneView(int lane) {
+        return new LaneView(this, lane);
+    }
+
+    List<PlayingCard> pileView(int pile) {
+        return new PileView(this, pile);
+    }
+
+    // Live, modifiable view of one lane. Cards are copied in by value and read out as shared flyweights.
+    private static final class LaneView extends AbstractList<PlayingCard> {
+        private final GameBoard board;
+        private final int lane;
+
+        LaneView(GameBoard board, int lane) {
+            this.board = board;
+            this.lane = lane;
+        }
+
+        @Override
+        public PlayingCard get(int index) {
+            checkIndex(index, size());
+            return PlayingCard.of(board.cardAt(lane, index));
+        }
+
+        @Override
+        public int size() {
+            return board.laneSize(lane);
+        }
+
+        @Override
+        public PlayingCard set(int index, PlayingCard card) {
+            checkIndex(index, size());
+            PlayingCard previous = get(index);
+            board.setCard(lane, index, card.getCode());
+            return previous;
+        }
+
+        @Override
+        public void add(int index, PlayingCard card) {
+            checkIndex(index, size() + 1);
+            board.insertCard(lane, index, card.getCode());
+            modCount++;
+        }
+
+        @Override
+        public PlayingCard remove(int index) {
+            checkIndex(index, size());
+            modCount++;
+            return PlayingCard.of(board.removeCard(lane, index));
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            int size = size();
+            for (int i = toIndex; i < size; i++) {
+                board.setCard(lane, fromIndex + i - toIndex, board.cardAt(lane, i));
+            }
+            board.truncateLane(lane, size - (toIndex - fromIndex));
+            modCount++;
+        }
+
+        private static void checkIndex(int index, int size) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+    }
+
+    // Read-only view of a suit pile, rebuilt from its top card
+    private static final class PileView extends AbstractList<PlayingCard> {
+        private final GameBoard board;
+        private final int pile;
+
+        PileView(GameBoard board, int pile) {
+            this.board = board;
+            this.pile = pile;
+        }
+
+        @Override
+        public PlayingCard get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            int suitBits = board.pileTop(pile) & CardCodes.SUIT_MASK;
+            return PlayingCard.of(suitBits | (index + 1));
+        }
+
+        @Override
+        public int size() {
+            return board.pileSize(pile);
+        }
+    }
+}
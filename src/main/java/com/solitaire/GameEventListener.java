@@ -0,0 +1,42 @@
+package com.solitaire;
+
+// Callbacks for state changes of a PatienceGameEngine, called on the thread that plays the game right
+// after the change. Cards are CardCodes values and moves are Moves codes, so no event allocates.
+// Every method does nothing by default; implement only the events you need, and hand slow work to
+// another thread, e.g. through a GameEventQueue. Cards played by auto-play or auto-finish are reported
+// once per batch through cardsAutoPlayed, not card by card. A lane move refused as an oscillation is
+// never committed and raises no event.
+interface GameEventListener {
+    GameEventListener NONE = new GameEventListener() {
+    };
+
+    // A card, or the run starting with it, was played by 'move'
+    default void cardMoved(int move, int card) {
+    }
+
+    // The card left on top of 'lane' was turned face up
+    default void cardRevealed(int lane, int card) {
+    }
+
+    default void cardDrawn(int card) {
+    }
+
+    // The drawn cards went back onto the draw pile
+    default void drawPileRecycled(int cards) {
+    }
+
+    // 'score' is the new total
+    default void scoreChanged(int score, int delta) {
+    }
+
+    // One auto-play or auto-finish batch put 'cards' cards on the suit piles and turned up whatever they
+    // uncovered; 'score' is the new total
+    default void cardsAutoPlayed(int cards, int score) {
+    }
+
+    default void gameWon(int score, int moves) {
+    }
+
+    default void moveUndone(int move) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.solitaire;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands engine events to another thread, e.g. for analytics or persistence, without slowing the game.
+// Each event is packed into one long in a fixed ring, so publishing never allocates, locks or blocks:
+// when the consumer falls a full ring behind, new events are dropped and counted instead.
+// One game thread may publish and one consumer thread may drain at a time.
+final class GameEventQueue implements GameEventListener {
+    // Event layout: type in bits 0-3, first argument in bits 4-35, second in bits 36-63 (signed, 28 bits
+    // is plenty for cards, moves and score deltas)
+    private static final int MOVED = 1;
+    private static final int REVEALED = 2;
+    private static final int DRAWN = 3;
+    private static final int RECYCLED = 4;
+    private static final int SCORE = 5;
+    private static final int WON = 6;
+    private static final int UNDONE = 7;
+    private static final int AUTO_PLAYED = 8;
+
+    private final long[] events;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();  // Next event to drain, advanced by the consumer
+    private final AtomicLong tail = new AtomicLong();  // Next free slot, advanced by the producer
+    private final AtomicLong dropped = new AtomicLong();
+
+    // 'capacity' is rounded up to a power of two
+    GameEventQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Queue capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        events = new long[size];
+        mask = size - 1;
+    }
+
+    int capacity() {
+        return events.length;
+    }
+
+    // Events lost because the ring was full
+    long getDropped() {
+        return dropped.get();
+    }
+
+    // Replay every queued event on 'target' in order, from the consumer thread, and return how many
+    int drainTo(GameEventListener target) {
+        long first = head.get();
+        long last = tail.getAcquire();
+        for (long i = first; i < last; i++) {
+            long event = events[(int) i & mask];
+            int a = (int) (event >>> 4);
+            int b = (int) (event >> 36);
+            switch ((int) event & 0xF) {
+                case MOVED:
+                    target.cardMoved(a, b);
+                    break;
+                case REVEALED:
+                    target.cardRevealed(a, b);
+                    break;
+                case DRAWN:
+                    target.cardDrawn(a);
+                    break;
+                case RECYCLED:
+                    target.drawPileRecycled(a);
+                    break;
+                case SCORE:
+                    target.scoreChanged(a, b);
+                    break;
+                case WON:
+                    target.gameWon(a, b);
+                    break;
+                case UNDONE:
+                    target.moveUndone(a);
+                    break;
+                case AUTO_PLAYED:
+                    target.cardsAutoPlayed(a, b);
+                    break;
+                default:
+                    throw new IllegalStateException("Corrupt event: " + event);
+            }
+        }
+        head.setRelease(last);  // Frees the slots for the producer
+        return (int) (last - first);
+    }
+
+    private void publish(int type, int a, int b) {
+        long slot = tail.get();
+        if (slot - head.getAcquire() == events.length) {
+            dropped.incrementAndGet();
+            return;
+        }
+        events[(int) slot & mask] = type | (a & 0xFFFFFFFFL) << 4 | (long) b << 36;
+        tail.setRelease(slot + 1);  // Publishes the event to the consumer
+    }
+
+    @Override
+    public void cardMoved(int move, int card) {
+        publish(MOVED, move, card);
+    }
+
+    @Override
+    public void cardRevealed(int lane, int card) {
+        publish(REVEALED, lane, card);
+    }
+
+    @Override
+    public void cardDrawn(int card) {
+        publish(DRAWN, card, 0);
+    }
+
+    @Override
+    public void drawPileRecycled(int cards) {
+        publish(RECYCLED, cards, 0);
+    }
+
+    @Override
+    public void scoreChanged(int score, int delta) {
+        publish(SCORE, score, delta);
+    }
+
+    @Override
+    public void cardsAutoPlayed(int cards, int score) {
+        publish(AUTO_PLAYED, cards, score);
+    }
+
+    @Override
+    public void gameWon(int score, int moves) {
+        publish(WON, score, moves);
+    }
+
+    @Override
+    public void moveUndone(int move) {
+        publish(UNDONE, move, 0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.solitaire;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Binary archive of played games. A file starts with the 4-byte MAGIC and holds records back to back:
+//   varint  body length in bytes
+//   body:   8-byte big-endian deal seed, varint deal, varint move count, one varint per packed Moves code
+//   deal:   GameRules.code() | deal source << DEAL_SOURCE_SHIFT, the source being the engine's
+//           SEEDED_DEAL or MICROSOFT_DEAL (whose seed is the deal number)
+// Moves are the engine's own codes, so most take one or two bytes, and replaying a record is dealing
+// the seed under its rules followed by applyMove for each code. Varints are unsigned LEB128.
+// The last MAGIC byte is the format version; version 1 records had no rules and are not read.
+final class GameRecordFormat {
+    static final byte[] MAGIC = {'P', 'G', 'R', 2};
+    static final int MAX_VARINT_BYTES = 5;
+    static final int DEAL_SOURCE_SHIFT = 16;
+
+    private GameRecordFormat() {
+    }
+
+    // Write 'value' at 'offset' and return the offset after it
+    static int putVarint(byte[] buffer, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    static int getVarint(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("Truncated varint");
+            }
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static void checkMagic(byte[] header) throws IOException {
+        for (int i = 0; i < MAGIC.length - 1; i++) {
+            if (header[i] != MAGIC[i]) {
+                throw new IOException("Not a game record file");
+            }
+        }
+        if (header[MAGIC.length - 1] != MAGIC[MAGIC.length - 1]) {
+            throw new IOException("Unsupported game record version " + header[MAGIC.length - 1]);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.solitaire;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Reads game records (see GameRecordFormat) one at a time into reusable fields, so scanning an
+// archive allocates nothing per record. Subclasses supply each record body as a ByteBuffer.
+abstract class GameRecordReader implements Closeable {
+    private long seed;
+    private GameRules rules = GameRules.CLASSIC;
+    private int dealSource;
+    private int[] moves = new int[256];
+    private int moveCount;
+    private long records;
+
+    // Stream the records of 'file' through a buffered input stream
+    static GameRecordReader open(Path file) throws IOException {
+        return new StreamReader(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+    }
+
+    // The next record body, positioned at its start and limited to its end, or null at the end of the archive
+    protected abstract ByteBuffer nextBody() throws IOException;
+
+    // Advance to the next record; false at the end of the archive
+    final boolean next() throws IOException {
+        ByteBuffer body = nextBody();
+        if (body == null) {
+            return false;
+        }
+        if (body.remaining() < Long.BYTES) {
+            throw new IOException("Truncated record");
+        }
+        seed = body.getLong();
+        int deal = GameRecordFormat.getVarint(body);
+        dealSource = deal >>> GameRecordFormat.DEAL_SOURCE_SHIFT;
+        if (dealSource != PatienceGameEngine.SEEDED_DEAL
+                && (dealSource != PatienceGameEngine.MICROSOFT_DEAL || seed != (int) seed)) {
+            throw new IOException("Bad deal " + deal + " for seed " + seed);
+        }
+        int code = deal & ((1 << GameRecordFormat.DEAL_SOURCE_SHIFT) - 1);
+        if (code != rules.code()) {  // Archives mostly hold one variant, so this rarely looks anything up
+            try {
+                rules = GameRules.fromCode(code);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Bad rules code " + code, e);
+            }
+        }
+        int count = GameRecordFormat.getVarint(body);
+        if (count < 0 || count > body.remaining()) {
+            throw new IOException("Bad move count " + count);
+        }
+        if (count > moves.length) {
+            moves = Arrays.copyOf(moves, Math.max(count, moves.length * 2));
+        }
+        for (int i = 0; i < count; i++) {
+            moves[i] = GameRecordFormat.getVarint(body);
+        }
+        moveCount = count;
+        records++;
+        return true;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    // PatienceGameEngine.SEEDED_DEAL or MICROSOFT_DEAL
+    int getDealSource() {
+        return dealSource;
+    }
+
+    GameRules getRules() {
+        return rules;
+    }
+
+    int getMoveCount() {
+        return moveCount;
+    }
+
+    int getMove(int index) {
+        return moves[index];
+    }
+
+    // Records read so far
+    long getRecordCount() {
+        return records;
+    }
+
+    // Deal the current record's game on 'engine' under its rules and play its moves
+    void replay(PatienceGameEngine engine) {
+        if (dealSource == PatienceGameEngine.MICROSOFT_DEAL) {
+            engine.setupMicrosoftDeal((int) seed, rules);
+        } else {
+            engine.setupGame(seed, rules);
+        }
+        for (int i = 0; i < moveCount; i++) {
+            MoveResult result = engine.applyMove(moves[i]);
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Record " + records + " move " + i + " ("
+                        + Moves.toCommand(moves[i]) + ") was rejected: " + result);
+            }
+        }
+    }
+
+    private static final class StreamReader extends GameRecordReader {
+        private final InputStream in;
+        private byte[] body = new byte[1024];
+        private ByteBuffer bodyBuffer = ByteBuffer.wrap(body);
+        private boolean headerChecked;
+
+        StreamReader(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        protected ByteBuffer nextBody() throws IOException {
+            if (!headerChecked) {
+                byte[] header = new byte[GameRecordFormat.MAGIC.length];
+                readFully(header, header.length);
+                GameRecordFormat.checkMagic(header);
+                headerChecked = true;
+            }
+            int length = readLength();
+            if (length < 0) {
+                return null;
+            }
+            if (length > body.length) {
+                body = new byte[Math.max(length, body.length * 2)];
+                bodyBuffer = ByteBuffer.wrap(body);
+            }
+            readFully(body, length);
+            bodyBuffer.clear();
+            bodyBuffer.limit(length);
+            return bodyBuffer;
+        }
+
+        // Body length prefix, or -1 at a clean end of stream
+        private int readLength() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 7 * GameRecordFormat.MAX_VARINT_BYTES; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    if (shift == 0) {
+                        return -1;
+                    }
+                    throw new EOFException("Truncated record length");
+                }
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed record length");
+        }
+
+        private void readFully(byte[] buffer, int length) throws IOException {
+            int read = 0;
+            while (read < length) {
+                int n = in.read(buffer, read, length - read);
+                if (n < 0) {
+                    throw new EOFException("Truncated record");
+                }
+                read += n;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
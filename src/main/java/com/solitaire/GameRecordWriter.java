@@ -0,0 +1,102 @@
+package com.solitaire;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Appends game records (see GameRecordFormat) to a stream. Not thread-safe: one writer per file.
+final class GameRecordWriter implements Closeable {
+    private final OutputStream out;
+    private byte[] body = new byte[256];
+    private final byte[] prefix = new byte[GameRecordFormat.MAX_VARINT_BYTES];
+
+    // Write to 'out', which must be positioned after the file header
+    GameRecordWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    // Open 'file' for appending, writing the header if the file is new or empty; an existing file must
+    // be in the current format version
+    static GameRecordWriter append(Path file) throws IOException {
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        if (!fresh) {
+            byte[] header = new byte[GameRecordFormat.MAGIC.length];
+            try (InputStream in = Files.newInputStream(file)) {
+                if (in.readNBytes(header, 0, header.length) < header.length) {
+                    throw new IOException("Not a game record file");
+                }
+            }
+            GameRecordFormat.checkMagic(header);
+        }
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), 1 << 16);
+        if (fresh) {
+            out.write(GameRecordFormat.MAGIC);
+        }
+        return new GameRecordWriter(out);
+    }
+
+    // Record the engine's game: how it was dealt, its rules and every move still on its history. A game
+    // restored from a snapshot can't be recorded, since its history doesn't reach back to the deal.
+    void write(PatienceGameEngine engine) throws IOException {
+        if (engine.getDealSource() == PatienceGameEngine.RESTORED_GAME) {
+            throw new IllegalStateException("A game restored from a snapshot can't be rebuilt from its deal");
+        }
+        int count = engine.getHistorySize();
+        int length = start(engine.getSeed(), engine.getDealSource(), engine.getRules(), count);
+        for (int i = 0; i < count; i++) {
+            length = putMove(length, engine.getHistoryMove(i));
+        }
+        finish(length);
+    }
+
+    // Record a game dealt by setupGame(seed) under 'rules'
+    void write(long seed, GameRules rules, int[] moves, int count) throws IOException {
+        int length = start(seed, PatienceGameEngine.SEEDED_DEAL, rules, count);
+        for (int i = 0; i < count; i++) {
+            length = putMove(length, moves[i]);
+        }
+        finish(length);
+    }
+
+    private int start(long seed, int dealSource, GameRules rules, int count) {
+        ensureCapacity(Long.BYTES + GameRecordFormat.MAX_VARINT_BYTES * (count + 2));
+        for (int i = 0; i < Long.BYTES; i++) {
+            body[i] = (byte) (seed >>> (56 - 8 * i));
+        }
+        int deal = rules.code() | dealSource << GameRecordFormat.DEAL_SOURCE_SHIFT;
+        int offset = GameRecordFormat.putVarint(body, Long.BYTES, deal);
+        return GameRecordFormat.putVarint(body, offset, count);
+    }
+
+    private int putMove(int offset, int move) {
+        return GameRecordFormat.putVarint(body, offset, move);
+    }
+
+    private void finish(int length) throws IOException {
+        int prefixLength = GameRecordFormat.putVarint(prefix, 0, length);
+        out.write(prefix, 0, prefixLength);
+        out.write(body, 0, length);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (bytes > body.length) {
+            body = Arrays.copyOf(body, Math.max(bytes, body.length * 2));
+        }
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
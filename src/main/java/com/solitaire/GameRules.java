@@ -0,0 +1,131 @@
+package com.solitaire;
+
+import java.util.Locale;
+
+// A rule variant, compiled once into plain fields and tables so the move path reads a value instead of
+// testing which variant it is playing:
+//   - draw count: cards turned from the stock per draw, 1 or 3
+//   - recycle limit: times the drawn cards may be turned back over; recycleStep is 0 for unlimited, so
+//     the board's counter never moves and the limit is never reached
+//   - empty lanes: one bit per rank that may start an empty lane, Kings only in the standard rules
+//   - scoring: points per move type plus points per card moved, and the score a game starts with
+// The packed code() identifies a rule set in snapshots and caches.
+final class GameRules {
+    static final int UNLIMITED = Byte.MAX_VALUE;  // Recycle limit meaning no limit
+    static final int MAX_DRAW_COUNT = 7;
+
+    enum Scoring {
+        CLASSIC,  // 5 per card between lanes, 20 from a lane and 10 from the drawn cards to a suit pile
+        VEGAS     // 52 paid up front, 5 back for every card on the suit piles
+    }
+
+    static final GameRules CLASSIC = new GameRules("classic", 1, UNLIMITED, false, Scoring.CLASSIC);
+    static final GameRules DRAW_THREE = new GameRules("draw3", 3, UNLIMITED, false, Scoring.CLASSIC);
+    static final GameRules VEGAS = new GameRules("vegas", 1, 0, false, Scoring.VEGAS);  // One pass
+    static final GameRules VEGAS_DRAW_THREE = new GameRules("vegas-draw3", 3, 2, false, Scoring.VEGAS);  // Three passes
+    private static final GameRules[] PRESETS = {CLASSIC, DRAW_THREE, VEGAS, VEGAS_DRAW_THREE};
+
+    // Layout of code()
+    private static final int RECYCLES_SHIFT = 3;
+    private static final int ANY_CARD_BIT = 1 << 10;
+    private static final int SCORING_SHIFT = 11;
+
+    private static final int KINGS_ONLY = 1 << CardCodes.KING;
+    private static final int ANY_RANK = ((1 << (CardCodes.KING + 1)) - 1) & ~1;
+
+    private final String name;
+    final int drawCount;
+    final int maxRecycles;
+    final int recycleStep;
+    private final int emptyLaneRanks;
+    private final Scoring scoring;
+    final int startScore;
+    private final int[] movePoints = new int[Moves.RECYCLE + 1];  // Indexed by move type
+    private final int[] cardPoints = new int[Moves.RECYCLE + 1];
+
+    GameRules(int drawCount, int maxRecycles, boolean anyCardInEmptyLane, Scoring scoring) {
+        this(null, drawCount, maxRecycles, anyCardInEmptyLane, scoring);
+    }
+
+    private GameRules(String name, int drawCount, int maxRecycles, boolean anyCardInEmptyLane, Scoring scoring) {
+        if (drawCount < 1 || drawCount > MAX_DRAW_COUNT) {
+            throw new IllegalArgumentException("Draw count must be 1 to " + MAX_DRAW_COUNT + ": " + drawCount);
+        }
+        if (maxRecycles < 0 || maxRecycles > UNLIMITED) {
+            throw new IllegalArgumentException("Recycle limit must be 0 to " + UNLIMITED + ": " + maxRecycles);
+        }
+        this.drawCount = drawCount;
+        this.maxRecycles = maxRecycles;
+        this.recycleStep = maxRecycles == UNLIMITED ? 0 : 1;
+        this.emptyLaneRanks = anyCardInEmptyLane ? ANY_RANK : KINGS_ONLY;
+        this.scoring = scoring;
+        switch (scoring) {
+            case VEGAS:
+                startScore = -CardCodes.DECK_SIZE;
+                movePoints[Moves.LANE_TO_PILE] = 5;
+                movePoints[Moves.WASTE_TO_PILE] = 5;
+                break;
+            default:
+                startScore = 0;
+                cardPoints[Moves.LANE_TO_LANE] = 5;
+                movePoints[Moves.LANE_TO_PILE] = 20;
+                movePoints[Moves.WASTE_TO_PILE] = 10;
+                break;
+        }
+        this.name = name != null ? name : "draw" + drawCount
+                + (maxRecycles == UNLIMITED ? "" : "-passes" + (maxRecycles + 1))
+                + (anyCardInEmptyLane ? "-anycard" : "")
+                + "-" + scoring.name().toLowerCase(Locale.ROOT);
+    }
+
+    // A preset by name: classic, draw3, vegas or vegas-draw3
+    static GameRules forName(String name) {
+        for (GameRules rules : PRESETS) {
+            if (rules.name.equalsIgnoreCase(name)) {
+                return rules;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rules: " + name);
+    }
+
+    // The rule set for a code(), the preset itself where one matches
+    static GameRules fromCode(int code) {
+        for (GameRules rules : PRESETS) {
+            if (rules.code() == code) {
+                return rules;
+            }
+        }
+        int scoring = code >>> SCORING_SHIFT;
+        if (scoring >= Scoring.values().length) {
+            throw new IllegalArgumentException("Invalid rules code: " + code);
+        }
+        return new GameRules(code & MAX_DRAW_COUNT, (code >>> RECYCLES_SHIFT) & UNLIMITED,
+                (code & ANY_CARD_BIT) != 0, Scoring.values()[scoring]);
+    }
+
+    // The rule set packed into 13 bits: draw count, recycle limit, empty-lane rule and scoring
+    int code() {
+        return drawCount | maxRecycles << RECYCLES_SHIFT | (emptyLaneRanks == ANY_RANK ? ANY_CARD_BIT : 0)
+                | scoring.ordinal() << SCORING_SHIFT;
+    }
+
+    // True when 'card' may be moved into an empty lane
+    boolean fillsEmptyLane(int card) {
+        return (emptyLaneRanks >>> CardCodes.rank(card) & 1) != 0;
+    }
+
+    // Score for applying 'move'
+    int points(int move) {
+        int type = Moves.type(move);
+        return movePoints[type] + cardPoints[type] * Moves.count(move);
+    }
+
+    Scoring getScoring() {
+        return scoring;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
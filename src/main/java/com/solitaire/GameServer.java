@@ -0,0 +1,139 @@
+package com.solitaire;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Line protocol over a localhost socket for driving a SessionManager, e.g. from a load generator.
+// Requests, one per line, each answered with one line starting OK or ERR:
+//   NEW [seed] [rules]  start a game          -> OK <session> <seed>
+//                       rules: classic (default), draw3, vegas or vegas-draw3
+//   CMD <session> <cmd> play a console command -> OK <result> <score> <moves> [WON|LOST]
+//   STATE <session>     show the board        -> OK <lanes> || <suit piles> || <drawn card> <draw pile size>
+//   HINT <session>      suggest a move        -> OK <command> or OK NONE
+//   CLOSE <session>     end a game            -> OK
+//   BYE                 close the connection
+// Connection threads only read and write; the games run on the session manager's pool.
+final class GameServer implements AutoCloseable {
+    static final int DEFAULT_PORT = 7777;
+
+    private final SessionManager sessions;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool();
+
+    // Port 0 picks a free port, see getPort()
+    GameServer(SessionManager sessions, int port) throws IOException {
+        this.sessions = sessions;
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    void start() {
+        Thread acceptor = new Thread(this::acceptLoop, "game-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;  // Closed
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket connection = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.equalsIgnoreCase("BYE")) {
+                    break;
+                }
+                out.write(handle(line));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    // Answer one request line
+    String handle(String line) {
+        String[] parts = line.split("\\s+", 3);
+        try {
+            switch (parts[0].toUpperCase()) {
+                case "NEW": {
+                    long seed = parts.length > 1 ? Long.parseLong(parts[1]) : Deals.randomSeed();
+                    GameRules rules = parts.length > 2 ? GameRules.forName(parts[2].trim()) : GameRules.CLASSIC;
+                    return "OK " + sessions.open(seed, rules) + " " + seed;
+                }
+                case "CMD":
+                    if (parts.length < 3) {
+                        return "ERR usage: CMD <session> <command>";
+                    }
+                    return sessions.submit(Long.parseLong(parts[1]), parts[2]).get();
+                case "STATE": {
+                    GameSession session = parts.length > 1 ? sessions.get(Long.parseLong(parts[1])) : null;
+                    return session == null ? "ERR unknown session" : session.state().get();
+                }
+                case "HINT":
+                    if (parts.length < 2) {
+                        return "ERR usage: HINT <session>";
+                    }
+                    return sessions.hint(Long.parseLong(parts[1])).get();
+                case "CLOSE":
+                    return parts.length > 1 && sessions.close(Long.parseLong(parts[1])) ? "OK" : "ERR unknown session";
+                default:
+                    return "ERR unknown request";
+            }
+        } catch (NumberFormatException e) {
+            return "ERR bad number";
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        } catch (ExecutionException e) {
+            return "ERR " + e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "ERR interrupted";
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    // Usage: GameServer [port] [threads] [idle timeout seconds]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long idleSeconds = args.length > 2 ? Long.parseLong(args[2]) : 600;
+
+        SessionManager sessions = new SessionManager(threads, idleSeconds * 1000);
+        sessions.getMetrics().register("server-" + port);  // Command counts and latencies over JMX
+        GameServer server = new GameServer(sessions, port);
+        server.start();
+        System.out.println("Serving games on localhost:" + server.getPort());
+        Thread.currentThread().join();  // Run until killed
+    }
+}
@@ -0,0 +1,141 @@
+package com.solitaire;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// One hosted game. Commands go into the session's mailbox and are drained by at most one executor
+// thread at a time, so the engine has a single writer without any lock; sessions never block each other.
+final class GameSession {
+    private static final int DRAIN_BATCH = 32;  // Commands run before yielding the thread to other sessions
+
+    private final long id;
+    private final long seed;  // Kept here, since the engine goes back to a pool once the session closes
+    private final PatienceGameEngine engine;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();  // True while a drain is queued or running
+    private volatile long lastActiveNanos;
+    private volatile boolean closed;
+
+    // 'engine' is dealt and owned by this session until close(EnginePool) hands it back
+    GameSession(long id, PatienceGameEngine engine, Executor executor, EngineMetrics metrics) {
+        this.id = id;
+        this.seed = engine.getSeed();
+        this.engine = engine;
+        engine.setMetrics(metrics);
+        this.executor = executor;
+        this.lastActiveNanos = System.nanoTime();
+    }
+
+    long getId() {
+        return id;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    // Queue a command; the reply is "OK <result> <score> <moves>", with " WON" once the game is won
+    // or " LOST" once it provably cannot be
+    CompletableFuture<String> submit(String command) {
+        return enqueue(() -> reply(engine.handleCommand(command)));
+    }
+
+    // Queue a request for the board as one line: lanes, suit piles, drawn card and draw pile size
+    CompletableFuture<String> state() {
+        return enqueue(this::describe);
+    }
+
+    // Queue a request for a suggested move; the reply is "OK <command>", or "OK NONE" when stuck
+    CompletableFuture<String> hint(HintService hints) {
+        return enqueue(() -> {
+            String command = hints.hint(engine);
+            return "OK " + (command == null ? "NONE" : command);
+        });
+    }
+
+    private CompletableFuture<String> enqueue(Supplier<String> task) {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        lastActiveNanos = System.nanoTime();
+        mailbox.add(() -> {
+            if (closed) {
+                reply.complete("ERR session closed");
+                return;
+            }
+            try {
+                reply.complete(task.get());
+            } catch (RuntimeException e) {
+                reply.complete("ERR " + e.getMessage());
+            }
+        });
+        schedule();
+        return reply;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < DRAIN_BATCH; i++) {
+            Runnable task = mailbox.poll();
+            if (task == null) {
+                break;
+            }
+            task.run();
+        }
+        lastActiveNanos = System.nanoTime();
+        scheduled.set(false);
+        if (!mailbox.isEmpty()) {
+            schedule();  // More arrived, or the batch ran out
+        }
+    }
+
+    // True when nothing is queued or running and the session has been quiet for 'timeoutNanos'
+    boolean isIdle(long nowNanos, long timeoutNanos) {
+        return !scheduled.get() && mailbox.isEmpty() && nowNanos - lastActiveNanos > timeoutNanos;
+    }
+
+    // Commands still queued are answered with an error
+    void close() {
+        closed = true;
+    }
+
+    // Close, then return the engine to 'pool' from the mailbox, after anything still queued or running
+    void close(EnginePool pool) {
+        closed = true;
+        mailbox.add(() -> pool.release(engine));
+        schedule();
+    }
+
+    private String reply(MoveResult result) {
+        return "OK " + result + " " + engine.getTotalScore() + " " + engine.getMoveCounter()
+                + (engine.isWon() ? " WON" : engine.isLost() ? " LOST" : "");
+    }
+
+    private String describe() {
+        GameBoard board = engine.getBoard();
+        StringBuilder line = new StringBuilder("OK");
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            line.append(lane == 0 ? " " : " | ");
+            for (int depth = 0; depth < board.laneSize(lane); depth++) {
+                int card = board.cardAt(lane, depth);
+                line.append(depth == 0 ? "" : " ").append(CardCodes.isHidden(card) ? "*" : CardCodes.toString(card));
+            }
+        }
+        line.append(" ||");
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            int top = board.pileTop(pile);
+            line.append(' ').append(top == 0 ? "-" : CardCodes.toString(top));
+        }
+        int drawn = board.wasteTop();
+        line.append(" || ").append(drawn == 0 ? "-" : CardCodes.toString(drawn)).append(' ').append(board.stockSize());
+        return line.toString();
+    }
+}
@@ -0,0 +1,136 @@
+package com.solitaire;
+
+// Fixed-size binary snapshot of a whole game, for checkpointing and moving sessions between nodes.
+// Cards are stored once each: lane by lane from the bottom, then the draw pile; suit piles need only
+// their top card. The undo history is not included, so a restored game starts with nothing to undo.
+//
+// Offset  Size  Field
+//   0      1    VERSION
+//   1      8    deal seed
+//   9      4    score
+//  13      4    move counter
+//  17      1    recent placement, one bit per lane
+//  18      1    number of recent positions (1-4)
+//  19     32    recent position hashes, oldest first
+//  51      1    last card
+//  52      1    last target
+//  53      7    lane sizes
+//  60      4    suit pile tops
+//  64      1    draw pile size, including drawn cards
+//  65      1    drawn cards
+//  66      2    GameRules code
+//  68      1    recycles counted against the rules' limit
+//  69     52    cards, unused bytes zero
+final class GameSnapshot {
+    static final byte VERSION = 3;
+    static final int SIZE = 121;
+
+    static final int SEED = 1;
+    static final int SCORE = 9;
+    static final int MOVE_COUNTER = 13;
+    static final int RECENT_PLACEMENT = 17;
+    static final int RECENT_POSITION_COUNT = 18;
+    static final int RECENT_POSITIONS = 19;
+    static final int LAST_CARD = 51;
+    static final int LAST_TARGET = 52;
+    private static final int LANE_SIZES = 53;
+    private static final int PILE_TOPS = 60;
+    private static final int TALON_SIZE = 64;
+    private static final int WASTE_SIZE = 65;
+    private static final int RULES = 66;
+    private static final int RECYCLES = 68;
+    private static final int CARDS = 69;
+
+    private GameSnapshot() {
+    }
+
+    static void writeBoard(GameBoard board, byte[] out, int offset) {
+        int cards = board.talonSize();
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            cards += board.laneSize(lane);
+        }
+        if (cards > CardCodes.DECK_SIZE) {
+            throw new IllegalStateException("Board holds " + cards + " cards outside the suit piles");
+        }
+        int card = offset + CARDS;
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            int size = board.laneSize(lane);
+            out[offset + LANE_SIZES + lane] = (byte) size;
+            for (int depth = 0; depth < size; depth++) {
+                out[card++] = (byte) board.cardAt(lane, depth);
+            }
+        }
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            out[offset + PILE_TOPS + pile] = (byte) board.pileTop(pile);
+        }
+        int talon = board.talonSize();
+        out[offset + TALON_SIZE] = (byte) talon;
+        out[offset + WASTE_SIZE] = (byte) board.wasteSize();
+        int rules = board.rules().code();
+        out[offset + RULES] = (byte) (rules >>> 8);
+        out[offset + RULES + 1] = (byte) rules;
+        out[offset + RECYCLES] = (byte) board.recycles();
+        for (int pos = 0; pos < talon; pos++) {
+            out[card++] = (byte) board.talonCard(pos);
+        }
+        while (card < offset + SIZE) {
+            out[card++] = 0;
+        }
+    }
+
+    // Rebuild 'board' from a snapshot, rejecting sizes that cannot fit
+    static void readBoard(GameBoard board, byte[] in, int offset) {
+        board.clear();
+        board.setRules(GameRules.fromCode((in[offset + RULES] & 0xFF) << 8 | (in[offset + RULES + 1] & 0xFF)));
+        int card = offset + CARDS;
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            int size = in[offset + LANE_SIZES + lane];
+            if (size < 0 || size > GameBoard.LANE_CAPACITY || card + size > offset + SIZE) {
+                throw new IllegalArgumentException("Corrupt snapshot: lane " + (lane + 1) + " holds " + size + " cards");
+            }
+            for (int depth = 0; depth < size; depth++) {
+                board.pushLane(lane, in[card++]);
+            }
+        }
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            board.pushPile(pile, in[offset + PILE_TOPS + pile]);
+        }
+        int talon = in[offset + TALON_SIZE];
+        int waste = in[offset + WASTE_SIZE];
+        if (talon < 0 || talon > GameBoard.TALON_CAPACITY || waste < 0 || waste > talon || card + talon > offset + SIZE) {
+            throw new IllegalArgumentException("Corrupt snapshot: draw pile of " + talon + " cards with " + waste + " drawn");
+        }
+        board.setStock(in, card, talon);
+        for (int i = 0; i < waste; i++) {
+            board.draw();
+        }
+        int recycles = in[offset + RECYCLES];
+        if (recycles < 0 || recycles > board.rules().maxRecycles) {
+            throw new IllegalArgumentException("Corrupt snapshot: " + recycles + " recycles");
+        }
+        board.setRecycles(recycles);
+    }
+
+    static void putInt(byte[] out, int offset, int value) {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            out[offset + i] = (byte) (value >>> (24 - 8 * i));
+        }
+    }
+
+    static int getInt(byte[] in, int offset) {
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = (value << 8) | (in[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    static void putLong(byte[] out, int offset, long value) {
+        putInt(out, offset, (int) (value >>> 32));
+        putInt(out, offset + Integer.BYTES, (int) value);
+    }
+
+    static long getLong(byte[] in, int offset) {
+        return ((long) getInt(in, offset) << 32) | (getInt(in, offset + Integer.BYTES) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,32 @@
+package com.solitaire;
+
+// Plays the move the solver would try first: safe suit pile moves, then other suit pile moves, moves that
+// turn a card over or empty a lane, drawn cards, and finally the draw pile. Resigns once it has turned
+// the whole draw pile over without finding anything else to play.
+final class GreedyPolicy implements PlayPolicy {
+    private int drawsInARow;
+
+    @Override
+    public void newGame(PatienceGameEngine engine) {
+        drawsInARow = 0;
+    }
+
+    @Override
+    public int choose(PatienceGameEngine engine, MoveBuffer moves) {
+        GameBoard board = engine.getBoard();
+        Solver.orderMoves(board, moves);
+        if (moves.isEmpty()) {
+            return RESIGN;
+        }
+        int move = moves.get(0);
+        int type = Moves.type(move);
+        if (type == Moves.DRAW || type == Moves.RECYCLE) {
+            if (++drawsInARow > board.talonSize() + 1) {
+                return RESIGN;
+            }
+        } else {
+            drawsInARow = 0;
+        }
+        return move;
+    }
+}
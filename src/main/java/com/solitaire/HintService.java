@@ -0,0 +1,167 @@
+package com.solitaire;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Suggests a move for the player. Each candidate is scored by the best position reachable within a few
+// further moves, using the solver's move ordering, and positions are valued by cards turned face up,
+// cards on the suit piles and empty lanes. Answers are kept in a bounded LRU cache keyed by position,
+// so asking again on the same board skips the search.
+// One service can be shared by many games and threads: searches run on private copies of the board
+// and only the cache is locked.
+final class HintService {
+    static final int NO_MOVE = -1;
+    static final int DEFAULT_DEPTH = 3;
+    static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    // Heuristic weights
+    private static final int HIDDEN_CARD = 10;
+    private static final int PILE_CARD = 5;
+    private static final int EMPTY_LANE = 3;
+    private static final int PLY = 1;  // Reaching the same value sooner is better
+
+    private final int depth;
+    private final Map<Long, Integer> cache;
+    private final MoveBuffer legalMoves = new MoveBuffer();  // Checks cached moves; guarded by the cache lock
+    private long hits;
+    private long misses;
+
+    HintService() {
+        this(DEFAULT_DEPTH, DEFAULT_CACHE_SIZE);
+    }
+
+    // 'depth' is the number of moves looked at, including the hinted one
+    HintService(int depth, int cacheSize) {
+        if (depth < 1 || cacheSize < 1) {
+            throw new IllegalArgumentException("Hint depth and cache size must be positive: " + depth + ", " + cacheSize);
+        }
+        this.depth = depth;
+        this.cache = new LinkedHashMap<Long, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // The console command for the suggested move, or null when no move is possible
+    String hint(PatienceGameEngine engine) {
+        int move = bestMove(engine.getBoard());
+        return move == NO_MOVE ? null : Moves.toCommand(move);
+    }
+
+    // Packed code of the suggested move, or NO_MOVE
+    int bestMove(GameBoard board) {
+        long key = key(board);
+        synchronized (cache) {
+            Integer cached = cache.get(key);
+            if (cached != null && isLegal(board, cached)) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        int move = search(board);
+        synchronized (cache) {
+            cache.put(key, move);
+        }
+        return move;
+    }
+
+    long getCacheHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    long getCacheMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+    // The Zobrist hash treats lanes as interchangeable, but a hint names lanes, so the lane order is
+    // folded in as well, and so are the rules, since the same position plays differently under draw-3.
+    // A cached move is still checked for legality in case two orders collide.
+    private static long key(GameBoard board) {
+        long key = board.hash() * 31 + board.rules().code();
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            key = key * 31 + (board.laneSize(lane) << 8 | (board.laneTop(lane) & 0xFF));
+        }
+        return key;
+    }
+
+    private boolean isLegal(GameBoard board, int move) {
+        if (move == NO_MOVE) {
+            return true;
+        }
+        MoveGenerator.generate(board, legalMoves);
+        for (int i = 0; i < legalMoves.size(); i++) {
+            if (legalMoves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int search(GameBoard start) {
+        GameBoard board = new GameBoard();
+        board.copyFrom(start);
+        MoveBuffer[] buffers = new MoveBuffer[depth];
+        for (int i = 0; i < depth; i++) {
+            buffers[i] = new MoveBuffer();
+        }
+
+        // Any legal move may be the hint, so the first ply keeps every run split. Every generated move
+        // changes the position: moving a whole lane to an empty one, which only swaps two lanes, is never
+        // generated.
+        MoveBuffer moves = buffers[0];
+        Solver.orderMoves(board, moves, true);
+        int best = NO_MOVE;
+        int bestValue = Integer.MIN_VALUE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            long record = board.make(move);
+            int value = lookAhead(board, buffers, 1);
+            if (value > bestValue) {
+                bestValue = value;
+                best = move;
+            }
+            board.unmake(record);
+        }
+        return best;
+    }
+
+    // Best value reachable from here, counting stopping now
+    private int lookAhead(GameBoard board, MoveBuffer[] buffers, int ply) {
+        int best = evaluate(board) - ply * PLY;
+        if (ply == depth || board.isWon()) {
+            return best;
+        }
+        MoveBuffer moves = buffers[ply];
+        Solver.orderMoves(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            long record = board.make(moves.get(i));
+            best = Math.max(best, lookAhead(board, buffers, ply + 1));
+            board.unmake(record);
+        }
+        return best;
+    }
+
+    static int evaluate(GameBoard board) {
+        int value = 0;
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            int size = board.laneSize(lane);
+            if (size == 0) {
+                value += EMPTY_LANE;
+            }
+            for (int position = 0; position < size && CardCodes.isHidden(board.cardAt(lane, position)); position++) {
+                value -= HIDDEN_CARD;
+            }
+        }
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            value += PILE_CARD * board.pileSize(pile);
+        }
+        return value;
+    }
+}
@@ -1,18 +1,49 @@
 package com.solitaire;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 // Main class for the Patience (Solitaire) game
 public class Main {
-    public static void main(String[] args) {
+    // Usage: Main [seed] | Main <deal library> <easy|medium|hard>
+    public static void main(String[] args) throws IOException {
         Scanner scanner = new Scanner(System.in);
-        PatienceGameEngine game = new PatienceGameEngine();
+        PatienceGameEngine game;
+        if (args.length > 1) {
+            // A winnable deal of the chosen difficulty from a library written by DealLibraryBuilder
+            try (DealLibrary library = DealLibrary.open(Path.of(args[0]))) {
+                DealLibrary.Difficulty bucket = DealLibrary.Difficulty.valueOf(args[1].toUpperCase(Locale.ROOT));
+                game = new PatienceGameEngine(library.pick(bucket, new SplittableRandom()));
+            }
+        } else {
+            // An optional seed replays a previous deal
+            game = args.length > 0 ? new PatienceGameEngine(Long.parseLong(args[0])) : new PatienceGameEngine();
+        }
+        ConsoleRenderer renderer = new ConsoleRenderer(System.out);
+        HintService hints = new HintService();
+        game.setAutoFinish(true);  // Once every card is face up the game plays itself out
+        System.out.println("Deal " + game.getSeed());
 
         while (true) {
-            game.displayGameState();
+            renderer.render(game);
             System.out.print("Enter command: ");
+            if (!scanner.hasNextLine()) {
+                break;                                      // End of input
+            }
             String userCommand = scanner.nextLine().trim();
-            game.handleUserCommand(userCommand);
+            if (userCommand.equalsIgnoreCase("H")) {
+                String hint = hints.hint(game);
+                System.out.println(hint == null ? "No moves left." : "Hint: " + hint);
+                continue;
+            }
+            MoveResult result = game.handleUserCommand(userCommand);
+            renderer.report(result, game);
+            if (result == MoveResult.QUIT) {
+                break;
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.solitaire;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Scans an archive through memory-mapped windows, so multi-GB files are read straight from the page
+// cache without copying records onto the heap. A window is remapped at the start of any record that
+// would cross its end; a single mapping is limited to 2 GB, so no window exceeds that.
+final class MappedGameRecordReader extends GameRecordReader {
+    static final int DEFAULT_WINDOW_BYTES = 1 << 30;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowBytes;
+    private MappedByteBuffer window;
+    private long windowStart;  // File position of window[0]
+    private int bodyEnd = -1;  // Window position after the body last handed out
+
+    MappedGameRecordReader(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_BYTES);
+    }
+
+    MappedGameRecordReader(Path file, int windowBytes) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowBytes = windowBytes;
+        if (fileSize < GameRecordFormat.MAGIC.length) {
+            throw new IOException("Not a game record file");
+        }
+        map(0);
+        byte[] header = new byte[GameRecordFormat.MAGIC.length];
+        window.get(header);
+        GameRecordFormat.checkMagic(header);
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        bodyEnd = -1;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowBytes, fileSize - start));
+    }
+
+    @Override
+    protected ByteBuffer nextBody() throws IOException {
+        if (bodyEnd >= 0) {
+            window.limit(window.capacity());
+            window.position(bodyEnd);
+        }
+        long recordStart = windowStart + window.position();
+        if (recordStart >= fileSize) {
+            return null;
+        }
+        if (window.remaining() < GameRecordFormat.MAX_VARINT_BYTES && windowStart + window.limit() < fileSize) {
+            map(recordStart);
+        }
+        int length = GameRecordFormat.getVarint(window);
+        if (length > window.remaining()) {
+            if (windowStart + window.limit() >= fileSize) {
+                throw new IOException("Truncated record at " + recordStart);
+            }
+            if (length + GameRecordFormat.MAX_VARINT_BYTES > windowBytes) {
+                throw new IOException("Record at " + recordStart + " is larger than the mapping window");
+            }
+            map(recordStart);
+            GameRecordFormat.getVarint(window);
+        }
+        bodyEnd = window.position() + length;
+        window.limit(bodyEnd);  // The window itself is the body, so nothing is allocated per record
+        return window;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
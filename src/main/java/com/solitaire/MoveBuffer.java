@@ -0,0 +1,50 @@
+package com.solitaire;
+
+// Reusable list of packed move codes, filled by the move generator without allocating
+final class MoveBuffer {
+    // Upper bound on the legal moves in any position, under any rules. A lane run has one move onto each
+    // other lane top, but when any card may fill an empty lane, every card of a run of up to 13 can go to
+    // each empty lane: with k lanes empty that is 13k(7 - k) + (7 - k)(6 - k) lane moves, at most 168.
+    // Then 7 lane to pile moves, 11 moves for the drawn card and one draw or recycle.
+    static final int DEFAULT_CAPACITY = 192;
+
+    private final int[] moves;
+    private int size;
+
+    MoveBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    MoveBuffer(int capacity) {
+        moves = new int[capacity];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(int move) {
+        moves[size++] = move;
+    }
+
+    int get(int index) {
+        return moves[index];
+    }
+
+    void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    // Keep only the first 'newSize' moves
+    void truncate(int newSize) {
+        size = newSize;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,135 @@
+package com.solitaire;
+
+// Legal move generation over a GameBoard, under the board's GameRules.
+// Lane moves are derived from each lane's maintained run length, so a candidate run is located with
+// arithmetic instead of walking the lane.
+final class MoveGenerator {
+
+    private MoveGenerator() {
+    }
+
+    // Write every legal move into 'buffer', replacing its previous contents
+    static void generate(GameBoard board, MoveBuffer buffer) {
+        buffer.clear();
+        GameRules rules = board.rules();
+
+        for (int from = 0; from < GameBoard.LANES; from++) {
+            int run = board.runLength(from);
+            if (run == 0) {
+                continue;
+            }
+            int top = board.laneTop(from);
+            int topRank = CardCodes.rank(top);
+            int size = board.laneSize(from);
+
+            // Lane to lane: the only card that fits on a destination is the one ranked just below it
+            for (int to = 0; to < GameBoard.LANES; to++) {
+                if (to == from) {
+                    continue;
+                }
+                int destinationTop = board.laneTop(to);
+                if (destinationTop == 0) {
+                    // Any base card of the run the rules allow, except moving a whole lane, which changes nothing
+                    for (int numCards = 1; numCards <= run && numCards < size; numCards++) {
+                        if (rules.fillsEmptyLane(board.cardAt(from, size - numCards))) {
+                            buffer.add(Moves.laneToLane(from, to, numCards));
+                        }
+                    }
+                    continue;
+                }
+                int numCards = CardCodes.rank(destinationTop) - topRank;
+                if (numCards < 1 || numCards > run) {
+                    continue;
+                }
+                if (CardCodes.canStack(board.cardAt(from, size - numCards), destinationTop)) {
+                    buffer.add(Moves.laneToLane(from, to, numCards));
+                }
+            }
+
+            // Lane to suit pile
+            int pile = pileFor(board, top);
+            if (pile >= 0) {
+                buffer.add(Moves.laneToPile(from, pile));
+            }
+        }
+
+        int drawn = board.wasteTop();
+        if (drawn != 0) {
+            int pile = pileFor(board, drawn);
+            if (pile >= 0) {
+                buffer.add(Moves.wasteToPile(pile));
+            }
+            for (int to = 0; to < GameBoard.LANES; to++) {
+                int destinationTop = board.laneTop(to);
+                if (destinationTop == 0 ? rules.fillsEmptyLane(drawn) : CardCodes.canStack(drawn, destinationTop)) {
+                    buffer.add(Moves.wasteToLane(to));
+                }
+            }
+        }
+
+        if (board.stockSize() > 0) {
+            buffer.add(Moves.draw());
+        } else if (board.wasteSize() > 0 && board.canRecycle()) {
+            buffer.add(Moves.recycle());
+        }
+    }
+
+    // Suit pile a card can be played to, or -1. Aces prefer the pile of their own suit.
+    static int pileFor(GameBoard board, int card) {
+        if (CardCodes.rank(card) == CardCodes.ACE) {
+            int ownPile = CardCodes.suit(card);
+            if (board.pileTop(ownPile) == 0) {
+                return ownPile;
+            }
+            for (int pile = 0; pile < GameBoard.PILES; pile++) {
+                if (board.pileTop(pile) == 0) {
+                    return pile;
+                }
+            }
+            return -1;
+        }
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            if (CardCodes.canPlaceOnPile(card, board.pileTop(pile))) {
+                return pile;
+            }
+        }
+        return -1;
+    }
+
+    // A card is safe to play to its suit pile when no card that could still be stacked on it is left
+    // in play: Aces and twos always, otherwise once both suits of the opposite colour reach rank - 1
+    static boolean isSafeToPile(GameBoard board, int card) {
+        int rank = CardCodes.rank(card);
+        if (rank <= 2) {
+            return true;
+        }
+        int firstOpposite = CardCodes.isRed(card) ? 2 : 0;
+        return board.suitHeight(firstOpposite) >= rank - 1 && board.suitHeight(firstOpposite + 1) >= rank - 1;
+    }
+
+    // True when some card can still be played: a move other than cycling the draw pile exists now,
+    // or a card in the draw pile could be played once it is turned up. Without a recycle left only the
+    // stock can still be turned up. Every draw-3 position of a card is assumed reachable.
+    static boolean hasProductiveMove(GameBoard board, MoveBuffer buffer) {
+        generate(board, buffer);
+        for (int i = 0; i < buffer.size(); i++) {
+            int type = Moves.type(buffer.get(i));
+            if (type != Moves.DRAW && type != Moves.RECYCLE) {
+                return true;
+            }
+        }
+        for (int i = board.canRecycle() ? 0 : board.wasteSize(); i < board.talonSize(); i++) {
+            int card = board.talonCard(i);
+            if (pileFor(board, card) >= 0) {
+                return true;
+            }
+            for (int lane = 0; lane < GameBoard.LANES; lane++) {
+                int top = board.laneTop(lane);
+                if (top == 0 ? board.rules().fillsEmptyLane(card) : CardCodes.canStack(card, top)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
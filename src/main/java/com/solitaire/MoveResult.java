@@ -0,0 +1,45 @@
+package com.solitaire;
+
+// Outcome of an engine operation, returned instead of printing so the engine can run headless
+enum MoveResult {
+    MOVED(true, null),
+    MOVED_TO_LANE(true, "Moved %s to Lane %s"),
+    MOVED_TO_SUIT_PILE(true, "Moved %s to Suit Pile %s"),
+    DREW(true, "Drew card: %s"),
+    RECYCLED(true, "<- Recycled the unused cards back into the draw pile ->"),
+    EMPTY_LANE(false, "Cannot move from an empty lane."),
+    NOT_ENOUGH_CARDS(false, "Not enough cards in the source lane to move."),
+    ONLY_KINGS_IN_EMPTY_LANE(false, "Only Kings can be placed in an empty lane."),
+    INVALID_STACK(false, "Invalid move. Only a face-up run of alternating colours and descending rank can be moved together."),
+    INVALID_SEQUENCE(false, "Invalid move. The bottom card of the stack cannot be placed on the top card of the destination lane."),
+    INVALID_LANE_PLACEMENT(false, "Invalid move. Card cannot be placed in this lane."),
+    INVALID_SUIT_PILE_PLACEMENT(false, "Invalid move. Card cannot be placed in the suit pile."),
+    ONLY_ACES_ON_EMPTY_SUIT_PILE(false, "Only Aces can be placed in an empty suit pile."),
+    DRAW_PILE_EMPTY(false, "The draw pile is empty."),
+    NO_MORE_CARDS(false, "!! No more cards to draw."),
+    NO_MORE_PASSES(false, "!! No more passes through the draw pile."),
+    OSCILLATION(false, "!! Oscillation detected! No score will be added."),
+    INVALID_MOVE_COMMAND(false, "Invalid move command. Please try again."),
+    INVALID_COMMAND(false, "!! Invalid command. Please try again."),
+    AUTO_PLAYED(true, "<- Moved the safe cards to the suit piles ->"),
+    NOTHING_TO_AUTO_PLAY(false, "!! No card can safely go to the suit piles."),
+    UNDONE(true, "<- Undid the last move ->"),
+    NOTHING_TO_UNDO(false, "!! Nothing to undo."),
+    QUIT(true, "!! Exiting the game.");
+
+    private final boolean success;
+    private final String message;  // May contain %s placeholders for the card and the destination
+
+    MoveResult(boolean success, String message) {
+        this.success = success;
+        this.message = message;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
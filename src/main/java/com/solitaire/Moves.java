@@ -0,0 +1,84 @@
+package com.solitaire;
+
+// Packed move codes shared by the move generator, the undo log and the solvers.
+// Bits 0-3 move type, bits 4-7 source index, bits 8-11 destination index, bits 12-17 number of cards.
+final class Moves {
+    static final int LANE_TO_LANE = 1;
+    static final int LANE_TO_PILE = 2;
+    static final int WASTE_TO_LANE = 3;
+    static final int WASTE_TO_PILE = 4;
+    static final int DRAW = 5;
+    static final int RECYCLE = 6;
+
+    private static final int TYPE_MASK = 0xF;
+    private static final int FROM_SHIFT = 4;
+    private static final int TO_SHIFT = 8;
+    private static final int COUNT_SHIFT = 12;
+    static final int MAX_COUNT = 0x3F;
+
+    private Moves() {
+    }
+
+    static int encode(int type, int from, int to, int count) {
+        return type | (from << FROM_SHIFT) | (to << TO_SHIFT) | (count << COUNT_SHIFT);
+    }
+
+    static int laneToLane(int fromLane, int toLane, int numCards) {
+        return encode(LANE_TO_LANE, fromLane, toLane, numCards);
+    }
+
+    static int laneToPile(int fromLane, int pile) {
+        return encode(LANE_TO_PILE, fromLane, pile, 1);
+    }
+
+    static int wasteToLane(int lane) {
+        return encode(WASTE_TO_LANE, 0, lane, 1);
+    }
+
+    static int wasteToPile(int pile) {
+        return encode(WASTE_TO_PILE, 0, pile, 1);
+    }
+
+    static int draw() {
+        return DRAW;
+    }
+
+    static int recycle() {
+        return RECYCLE;
+    }
+
+    static int type(int move) {
+        return move & TYPE_MASK;
+    }
+
+    static int from(int move) {
+        return (move >>> FROM_SHIFT) & 0xF;
+    }
+
+    static int to(int move) {
+        return (move >>> TO_SHIFT) & 0xF;
+    }
+
+    static int count(int move) {
+        return (move >>> COUNT_SHIFT) & MAX_COUNT;
+    }
+
+    // The console command that performs the move, e.g. 562, 1H, P3, PS or D
+    static String toCommand(int move) {
+        switch (type(move)) {
+            case LANE_TO_LANE:
+                return "" + (from(move) + 1) + (to(move) + 1) + count(move);
+            case LANE_TO_PILE:
+                return (from(move) + 1) + CardCodes.SUIT_LABELS[to(move)];
+            case WASTE_TO_LANE:
+                return "P" + (to(move) + 1);
+            case WASTE_TO_PILE:
+                return "P" + CardCodes.SUIT_LABELS[to(move)];
+            case DRAW:
+            case RECYCLE:
+                return "D";
+            default:
+                throw new IllegalArgumentException("Invalid move code: " + move);
+        }
+    }
+}
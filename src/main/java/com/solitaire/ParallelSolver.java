@@ -0,0 +1,192 @@
+package com.solitaire;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Fork/join version of Solver for hard deals and bulk analysis.
+// Each iterative-deepening pass forks one task per move at the top few branching levels of the tree;
+// below that a task runs the ordinary depth-first search on its pool thread's SearchWorker. Idle threads
+// steal the remaining shallow tasks, and all workers share one lock-free transposition table, so a
+// position proven dead by one thread is pruned by every other. Like Solver, it only reports UNSOLVABLE
+// after a complete pass, one that searched every run split. Complete passes run as a single task: a
+// table entry may be for a position another thread is still searching, so two threads can cut each
+// other's lines off, which costs nothing when a win is found elsewhere but means an exhausted parallel
+// pass proves nothing.
+final class ParallelSolver {
+    static final int DEFAULT_SPLIT_LEVELS = 4;
+
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private final long nodeLimit;
+    private final int splitLevels;
+
+    ParallelSolver(int parallelism) {
+        this(parallelism, Solver.DEFAULT_TABLE_BITS, Solver.DEFAULT_NODE_LIMIT, DEFAULT_SPLIT_LEVELS);
+    }
+
+    // 'splitLevels' is how many branching levels below the root are forked into separate tasks
+    ParallelSolver(int parallelism, int tableBits, long nodeLimit, int splitLevels) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.table = new TranspositionTable(tableBits);
+        this.nodeLimit = nodeLimit;
+        this.splitLevels = splitLevels;
+    }
+
+    int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // Search for a winning line from 'start', which is left untouched. Not reentrant: one solve at a time.
+    SolveResult solve(GameBoard start) {
+        long startTime = System.nanoTime();
+        table.clear();
+        Search search = new Search(nodeLimit);
+        GameBoard root = new GameBoard();
+        root.copyFrom(start);
+
+        SolveResult.Status status = SolveResult.Status.UNKNOWN;
+        int limit = Solver.INITIAL_DEPTH_LIMIT;
+        while (true) {
+            search.depthCutoff.set(false);
+            pool.invoke(new SplitTask(search, root, new int[0], search.complete ? splitLevels : 0, limit));
+            if (search.solution.get() != null) {
+                status = SolveResult.Status.SOLVED;
+                break;
+            }
+            if (search.budget.isExhausted()) {
+                break;
+            }
+            if (!search.depthCutoff.get()) {
+                if (search.complete) {
+                    status = SolveResult.Status.UNSOLVABLE;
+                    break;
+                }
+                search.complete = true;  // Same depth again, keeping every run split, see Solver
+                table.clear();
+                continue;
+            }
+            if (limit == Solver.MAX_DEPTH) {
+                break;
+            }
+            limit = Solver.nextLimit(limit);
+        }
+
+        long nodes = 0;
+        long probes = 0;
+        long hits = 0;
+        long peakHeapBytes = 0;
+        for (SearchWorker worker : search.workers) {
+            nodes += worker.getNodes();
+            probes += worker.getProbes();
+            hits += worker.getHits();
+            peakHeapBytes = Math.max(peakHeapBytes, worker.getPeakHeapBytes());
+        }
+        int[] moves = status == SolveResult.Status.SOLVED ? search.solution.get() : new int[0];
+        return new SolveResult(status, moves, nodes, System.nanoTime() - startTime,
+                probes, hits, table.getMemoryBytes(), peakHeapBytes);
+    }
+
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    // State shared by all tasks of one solve
+    private final class Search {
+        final SearchWorker.Budget budget;
+        final Queue<SearchWorker> workers = new ConcurrentLinkedQueue<>();
+        final ThreadLocal<SearchWorker> localWorker = ThreadLocal.withInitial(this::newWorker);
+        final AtomicBoolean depthCutoff = new AtomicBoolean();
+        final AtomicReference<int[]> solution = new AtomicReference<>();
+        volatile boolean complete;  // Set between passes, see Solver
+
+        Search(long nodeLimit) {
+            budget = new SearchWorker.Budget(nodeLimit);
+        }
+
+        private SearchWorker newWorker() {
+            SearchWorker worker = new SearchWorker(table, budget);
+            workers.add(worker);
+            return worker;
+        }
+
+        void publish(int[] path, int length) {
+            if (solution.compareAndSet(null, Arrays.copyOf(path, length))) {
+                budget.stop();
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")  // Fork/join tasks are Serializable, but these are never serialized
+    private final class SplitTask extends RecursiveAction {
+        private final Search search;
+        private final GameBoard board;  // Owned by this task
+        private final int[] prefix;     // Moves from the root to 'board'
+        private final int splits;       // Branching levels already forked above this task
+        private final int limit;
+
+        SplitTask(Search search, GameBoard board, int[] prefix, int splits, int limit) {
+            this.search = search;
+            this.board = board;
+            this.prefix = prefix;
+            this.splits = splits;
+            this.limit = limit;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.budget.isStopped()) {
+                return;
+            }
+            SearchWorker worker = search.localWorker.get();
+            worker.setComplete(search.complete);
+            worker.board.copyFrom(board);
+            System.arraycopy(prefix, 0, worker.path, 0, prefix.length);
+            int depth = prefix.length;
+            try {
+                if (splits >= splitLevels) {
+                    if (worker.search(depth, limit)) {
+                        search.publish(worker.path, worker.getSolutionLength());
+                    }
+                    return;
+                }
+
+                int arrival = worker.enter(depth, limit);
+                if (arrival == SearchWorker.WON) {
+                    search.publish(worker.path, depth);
+                }
+                if (arrival != SearchWorker.EXPAND) {
+                    return;
+                }
+                MoveBuffer moves = new MoveBuffer();
+                Solver.orderMoves(worker.board, moves, search.complete);
+                int nextSplits = moves.size() > 1 ? splits + 1 : splits;  // Forced moves do not use up a level
+                List<SplitTask> children = new ArrayList<>(moves.size());
+                for (int i = 0; i < moves.size(); i++) {
+                    GameBoard child = new GameBoard();
+                    child.copyFrom(worker.board);
+                    child.make(moves.get(i));
+                    int[] childPrefix = Arrays.copyOf(prefix, depth + 1);
+                    childPrefix[depth] = moves.get(i);
+                    children.add(new SplitTask(search, child, childPrefix, nextSplits, limit));
+                }
+                worker.releaseAllowance();
+                if (worker.takeDepthCutoff()) {
+                    search.depthCutoff.set(true);
+                }
+                invokeAll(children);
+            } finally {
+                worker.releaseAllowance();
+                if (worker.takeDepthCutoff()) {
+                    search.depthCutoff.set(true);
+                }
+            }
+        }
+    }
+}
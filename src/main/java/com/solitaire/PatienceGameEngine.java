@@ -3,503 +3,825 @@ package com.solitaire;
 import java.util.*;
 
 class PatienceGameEngine {
-    private List<PlayingCard> drawCardStack;  // Draw pile
-    private List<PlayingCard> unusedCards;  // Cards that were drawn but not used
-    private List<List<PlayingCard>> gameLanes;  // The seven lanes
-    private List<PlayingCard> heartsStack, diamondsStack, clubsStack, spadesStack;  // Suit piles
+    private final GameBoard board;  // Lanes, suit piles, draw pile and drawn cards in primitive form
+    private final List<List<PlayingCard>> gameLanes;  // List views over the seven lanes of the board
+    private final List<List<PlayingCard>> suitPiles;  // Read-only views over the four suit piles
+    private GameRules rules;  // Variant of the current game, also held by the board
     private boolean[] recentPlacement;  // Tracks if a card was placed on each lane
     private int totalScore;
     private int moveCounter; //Counts the total number of moves
-    private List<String> recentCommands; // Oscillation problem solver - tracks recent commands
+    static final int SEEDED_DEAL = 0;  // Dealt by setupGame(seed)
+    static final int MICROSOFT_DEAL = 1;  // Dealt by setupMicrosoftDeal(number)
+    static final int RESTORED_GAME = 2;  // Restored from a snapshot: the undo history does not start at the deal
+    static final int RECENT_POSITIONS = 4;  // Oscillation problem solver - hashes of the last positions reached
+    private final long[] recentPositions = new long[RECENT_POSITIONS];
+    private final GameBoard[] recentBoards = new GameBoard[RECENT_POSITIONS];  // The positions behind those hashes
+    private int unknownBoards;  // Ring slots restored from a snapshot, known only by their hash
+    private int newestPosition;  // Ring buffer index of the current position
+    private int recentPositionCount;
+    private int lastCard;  // Card involved in the last successful move or draw, for renderers
+    private int lastTarget;  // Lane or suit pile index the last card was moved to
+    private final UndoLog undoLog = new UndoLog();  // One entry per applied move, newest last
+    private final byte[] deck = new byte[CardCodes.DECK_SIZE];  // Dealing order of the current game
+    private final MoveBuffer scratchMoves = new MoveBuffer();  // For the game-over checks, so they never allocate
+    private long seed;  // Seed of the current deal, so the game can be replayed
+    private int dealSource;  // How the current game was dealt, one of the constants below
+    private boolean autoFinish;  // Play out the game as soon as nothing is left to decide
+    private GameEventListener listener = GameEventListener.NONE;
+    private EngineMetrics metrics;  // Null unless instrumentation is switched on
+
+
+    // Initialize the game with a fresh random deal
+    public PatienceGameEngine() {
+        this(Deals.randomSeed());
+    }
 
+    // Initialize the game with the deal for 'seed'
+    public PatienceGameEngine(long seed) {
+        this(seed, GameRules.CLASSIC);
+    }
 
-    // Initialize the game
-    public PatienceGameEngine() {
-        drawCardStack = new ArrayList<>();
-        unusedCards = new ArrayList<>();
+    // Initialize a game of the 'rules' variant with the deal for 'seed'
+    public PatienceGameEngine(long seed, GameRules rules) {
+        this(new GameBoard());
+        this.rules = rules;
+        board.setRules(rules);
+        setupGame(seed);  // Setup deck and deal cards
+    }
+
+    // Restore a game saved with writeSnapshot, e.g. on another node
+    public PatienceGameEngine(byte[] snapshot) {
+        this(new GameBoard());
+        restoreSnapshot(snapshot, 0);
+    }
+
+    private PatienceGameEngine(GameBoard board) {
+        this.board = board;
         gameLanes = new ArrayList<>();
-        heartsStack = new ArrayList<>();
-        diamondsStack = new ArrayList<>();
-        clubsStack = new ArrayList<>();
-        spadesStack = new ArrayList<>();
+        for (int i = 0; i < GameBoard.LANES; i++) {
+            gameLanes.add(board.laneView(i));
+        }
+        suitPiles = new ArrayList<>();
+        for (int i = 0; i < GameBoard.PILES; i++) {
+            suitPiles.add(board.pileView(i));
+        }
         recentPlacement = new boolean[7];  // Track Recent Card Placement in 7 Lanes
-        recentCommands = new ArrayList<>();  // Store recent commands
-        totalScore = 0;
-        moveCounter = 0;
-        setupGame();  // Setup deck and deal cards
+        for (int i = 0; i < RECENT_POSITIONS; i++) {
+            recentBoards[i] = new GameBoard();
+        }
     }
 
-    // Setup and shuffle the deck, deal cards into lanes
+    // Shuffle and deal a fresh random game
     protected void setupGame() {
-        String[] suits = {"H", "D", "C", "S"};
-        String[] ranks = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
+        setupGame(Deals.randomSeed());  // Make every game unique
+    }
 
-        List<PlayingCard> fullDeck = new ArrayList<>();
-        for (String suit : suits) {
-            for (String rank : ranks) {
-                fullDeck.add(new PlayingCard(suit, rank,true));  // All cards are hidden by default
-            }
-        }
+    // Shuffle the deck for 'seed' and deal cards into lanes
+    protected void setupGame(long seed) {
+        this.seed = seed;
+        dealSource = SEEDED_DEAL;
+        Deals.shuffledDeck(deck, seed);
+        dealDeck();
+    }
 
-        Collections.shuffle(fullDeck); // Make every game unique
+    // Start over with the deal for 'seed' as if newly constructed: listener, metrics and auto-finish are
+    // switched off. Lets pooled engines be reused without allocating.
+    public void reset(long seed) {
+        reset(seed, rules);
+    }
 
-        // Deal cards to the 7 lanes
-        for (int i = 0; i < 7; i++) {
-            gameLanes.add(new ArrayList<>());
-            // Use j as the parameter with i to add cards in the lane
-            for (int j = 0; j <= i; j++) {
-                PlayingCard card = fullDeck.remove(fullDeck.size() - 1);
-                if (j == i) {
-                    card.setHidden(false);  // The top card in each lane should be visible
-                }
-                gameLanes.get(i).add(card);  // Deal cards into lanes
-            }
+    public void reset(long seed, GameRules rules) {
+        listener = GameEventListener.NONE;
+        metrics = null;
+        autoFinish = false;
+        setupGame(seed, rules);
+    }
+
+    // Deal 'seed' as a game of the 'rules' variant
+    protected void setupGame(long seed, GameRules rules) {
+        useRules(rules);
+        setupGame(seed);
+    }
+
+    // Deal Microsoft deal 'number', the card order of Windows FreeCell game 'number'
+    protected void setupMicrosoftDeal(int number) {
+        this.seed = number;
+        dealSource = MICROSOFT_DEAL;
+        Deals.microsoftDeck(deck, number);
+        dealDeck();
+    }
+
+    protected void setupMicrosoftDeal(int number, GameRules rules) {
+        useRules(rules);
+        setupMicrosoftDeal(number);
+    }
+
+    private void useRules(GameRules rules) {
+        this.rules = rules;
+        board.setRules(rules);
+    }
+
+    // Dealing again starts a new game: empty board, no history and no score
+    private void dealDeck() {
+        Deals.deal(board, deck);
+        undoLog.clear();
+        recentPositionCount = 0;
+        rememberPosition();
+        Arrays.fill(recentPlacement, false);
+        totalScore = rules.startScore;
+        moveCounter = 0;
+        lastCard = 0;
+        lastTarget = 0;
+    }
+
+    // Save the whole game in GameSnapshot.SIZE bytes at out[offset]
+    public void writeSnapshot(byte[] out, int offset) {
+        out[offset] = GameSnapshot.VERSION;
+        GameSnapshot.putLong(out, offset + GameSnapshot.SEED, seed);
+        GameSnapshot.putInt(out, offset + GameSnapshot.SCORE, totalScore);
+        GameSnapshot.putInt(out, offset + GameSnapshot.MOVE_COUNTER, moveCounter);
+        int placement = 0;
+        for (int lane = 0; lane < recentPlacement.length; lane++) {
+            placement |= recentPlacement[lane] ? 1 << lane : 0;
         }
+        out[offset + GameSnapshot.RECENT_PLACEMENT] = (byte) placement;
+        out[offset + GameSnapshot.RECENT_POSITION_COUNT] = (byte) recentPositionCount;
+        for (int i = 0; i < RECENT_POSITIONS; i++) {  // Oldest first
+            long position = i < recentPositionCount ? recentPositions[(newestPosition - recentPositionCount + 1 + i) & (RECENT_POSITIONS - 1)] : 0;
+            GameSnapshot.putLong(out, offset + GameSnapshot.RECENT_POSITIONS + Long.BYTES * i, position);
+        }
+        out[offset + GameSnapshot.LAST_CARD] = (byte) lastCard;
+        out[offset + GameSnapshot.LAST_TARGET] = (byte) lastTarget;
+        GameSnapshot.writeBoard(board, out, offset);
+    }
+
+    public byte[] snapshot() {
+        byte[] out = new byte[GameSnapshot.SIZE];
+        writeSnapshot(out, 0);
+        return out;
+    }
 
-        // Remaining cards should be 24 and become the draw pile
-        for (PlayingCard card : fullDeck) {
-            card.setHidden(true);  // Cards in the draw pile should be hidden initially
+    // Replace the current game with one saved by writeSnapshot; the undo history starts empty
+    public void restoreSnapshot(byte[] in, int offset) {
+        if (in[offset] != GameSnapshot.VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + in[offset]);
+        }
+        int recent = in[offset + GameSnapshot.RECENT_POSITION_COUNT];
+        if (recent < 0 || recent > RECENT_POSITIONS) {
+            throw new IllegalArgumentException("Corrupt snapshot: " + recent + " recent positions");
+        }
+        GameSnapshot.readBoard(board, in, offset);
+        rules = board.rules();
+        undoLog.clear();
+        seed = GameSnapshot.getLong(in, offset + GameSnapshot.SEED);
+        dealSource = RESTORED_GAME;
+        totalScore = GameSnapshot.getInt(in, offset + GameSnapshot.SCORE);
+        moveCounter = GameSnapshot.getInt(in, offset + GameSnapshot.MOVE_COUNTER);
+        int placement = in[offset + GameSnapshot.RECENT_PLACEMENT];
+        for (int lane = 0; lane < recentPlacement.length; lane++) {
+            recentPlacement[lane] = (placement & (1 << lane)) != 0;
+        }
+        recentPositionCount = 0;
+        for (int i = 0; i < recent; i++) {
+            rememberPosition(GameSnapshot.getLong(in, offset + GameSnapshot.RECENT_POSITIONS + Long.BYTES * i));
         }
-        drawCardStack.addAll(fullDeck);
+        if (recentPositionCount == 0) {
+            rememberPosition();
+        }
+        lastCard = in[offset + GameSnapshot.LAST_CARD];
+        lastTarget = in[offset + GameSnapshot.LAST_TARGET];
     }
 
     // Display the current game state (including the number of cards in the draw pile)
     public void displayGameState() {
-        System.out.println("--------------------------------------------------------------------------");
-        System.out.println("Score: " + totalScore + " || Moves: " + moveCounter);
-        System.out.println("Draw Pile: " + drawCardStack.size() + " cards remaining.");  // Show the number of cards remaining in the draw pile
-        System.out.println("--------------------------------------------------------------------------");
-
-        // Display lanes
-        for (int i = 0; i < gameLanes.size(); i++) {
-            System.out.print("Lane " + (i + 1) + ": ");
-            List<PlayingCard> lane = gameLanes.get(i); // Get the current lane (list of cards)
-
-            if (!lane.isEmpty()) {
-                for (PlayingCard card : lane) {
-                    if (card.isHidden()) {          // If the card is hidden, show *; otherwise, show the card
-                        System.out.print("* ");
-                    } else {
-                        System.out.print(card + " ");
-                    }
-                }
-            } else {
-                System.out.print("<- Empty ->");
+        new ConsoleRenderer(System.out).render(this);
+    }
+
+    // Headless core: lanes and suit piles are 0-based indexes, results are returned instead of printed.
+    // Each public move method is timed and counted like a command when metrics are on; the run* methods
+    // behind them are not, so a move made as part of a command or auto-play is only recorded once.
+
+    // Move cards between lanes (supports moving multiple cards)
+    public MoveResult moveLaneToLane(int sourceLaneIndex, int destinationLaneIndex, int numCards) {
+        long start = startTimer();
+        return recordResult(runLaneToLane(sourceLaneIndex, destinationLaneIndex, numCards, false), start);
+    }
+
+    // 'refuseRepeats' turns down a move back to one of the last few positions before it is committed
+    private MoveResult runLaneToLane(int sourceLaneIndex, int destinationLaneIndex, int numCards, boolean refuseRepeats) {
+        if (!isLaneIndex(sourceLaneIndex) || !isLaneIndex(destinationLaneIndex) || numCards < 1) {
+            return MoveResult.INVALID_MOVE_COMMAND;
+        }
+
+        int sourceSize = board.laneSize(sourceLaneIndex);
+
+        // Check if the source lane is empty
+        if (sourceSize == 0) {
+            return MoveResult.EMPTY_LANE;
+        }
+
+        // Check if the number of cards being moved is valid
+        if (numCards > sourceSize) {
+            return MoveResult.NOT_ENOUGH_CARDS;
+        }
+
+        // Only the face-up run on top of the lane moves together; its length is kept up to date by the board
+        if (numCards > board.runLength(sourceLaneIndex)) {
+            return MoveResult.INVALID_STACK;
+        }
+
+        // Check the bottom card of the stack and the top card of the destination lane
+        int bottomCardToMove = board.cardAt(sourceLaneIndex, sourceSize - numCards);
+        int topCardInDestination = board.laneTop(destinationLaneIndex);
+
+        if (topCardInDestination == 0) {
+            // If the destination lane is empty, only Kings can be placed (or any card, in some variants)
+            if (!rules.fillsEmptyLane(bottomCardToMove)) {
+                return MoveResult.ONLY_KINGS_IN_EMPTY_LANE;
             }
-            System.out.println();
+        } else if (!CardCodes.canStack(bottomCardToMove, topCardInDestination)) {
+            // Ensure that the cards form a valid sequence (alternating color and one rank lower)
+            return MoveResult.INVALID_SEQUENCE;
         }
 
-        // Display suit piles
-        System.out.println("--------------------------------------------------------------------------");
-        System.out.println("                            Suit Piles");
-        System.out.println("--------------------------------------------------------------------------");
-        System.out.println("Hearts  : " + heartsStack);
-        System.out.println("Diamonds: " + diamondsStack);
-        System.out.println("Clubs   : " + clubsStack);
-        System.out.println("Spades  : " + spadesStack);
+        // Valid move: copy the run across in one block and reveal the next top card in the source lane
+        int move = Moves.laneToLane(sourceLaneIndex, destinationLaneIndex, numCards);
+        long record = board.make(move);
+        if (refuseRepeats && repeatsRecentPosition()) {
+            board.unmake(record);  // Moving cards back and forth makes no progress
+            return MoveResult.OSCILLATION;
+        }
+        commit(record, rules.points(move), true, false);  // 5 points a card in the classic scoring
+        lastCard = bottomCardToMove;
+        lastTarget = destinationLaneIndex;
+        return MoveResult.MOVED;
     }
 
-    // Move a card between lanes (supports moving multiple cards)
-    protected void moveBetweenLanes(String fromLane, String toLane, int numCards) {
-        try {
-            int sourceLaneIndex = Integer.parseInt(fromLane) - 1;
-            int destinationLaneIndex = Integer.parseInt(toLane) - 1;
-
-            List<PlayingCard> sourceLane = gameLanes.get(sourceLaneIndex);
-            List<PlayingCard> destinationLane = gameLanes.get(destinationLaneIndex);
-
-            // Check if the source lane is empty
-            if (sourceLane.isEmpty()) {
-                System.out.println("Cannot move from an empty lane.");
-                return;  // Exit early if source lane is empty
-            }
+    // Move the top card of a lane to a suit pile
+    public MoveResult moveLaneToSuitPile(int sourceLaneIndex, int pileIndex) {
+        long start = startTimer();
+        return recordResult(runLaneToSuitPile(sourceLaneIndex, pileIndex), start);
+    }
 
-            // Check if the number of cards being moved is valid
-            if (numCards > sourceLane.size()) {
-                System.out.println("Not enough cards in the source lane to move.");
-                return;  // Exit early if there are not enough cards in the source lane
-            }
+    private MoveResult runLaneToSuitPile(int sourceLaneIndex, int pileIndex) {
+        if (!isLaneIndex(sourceLaneIndex) || !isPileIndex(pileIndex)) {
+            return MoveResult.INVALID_MOVE_COMMAND;
+        }
 
-            // Get the sublist of cards to move (the last 'numCards' cards)
-            List<PlayingCard> cardsToMove = new ArrayList<>(sourceLane.subList(sourceLane.size() - numCards, sourceLane.size()));
+        int cardToMove = board.laneTop(sourceLaneIndex);
+        if (cardToMove == 0) {
+            return MoveResult.EMPTY_LANE;
+        }
+        MoveResult placement = checkSuitPilePlacement(cardToMove, pileIndex);
+        if (placement != MoveResult.MOVED_TO_SUIT_PILE) {
+            return placement;
+        }
 
-            // Check the bottom card of the stack and the top card of the destination lane
-            PlayingCard bottomCardToMove = cardsToMove.get(0);
+        int move = Moves.laneToPile(sourceLaneIndex, pileIndex);
+        long record = board.make(move);  // Also reveals the next card
+        commit(record, rules.points(move), true, false);  // 20 points in the classic scoring
+        lastCard = cardToMove;
+        lastTarget = pileIndex;
+        return MoveResult.MOVED_TO_SUIT_PILE;
+    }
 
-            // Check if the destination lane is empty
-            if (destinationLane.isEmpty()) {
-                // If the destination lane is empty, only Kings can be placed
-                if (!bottomCardToMove.getCardRank().equals("K")) {
-                    System.out.println("Only Kings can be placed in an empty lane.");
-                    return;  // Exit early if not a King
-                }
-            } else {
-                // Check the top card of the destination lane
-                PlayingCard topCardInDestination = destinationLane.get(destinationLane.size() - 1);
-                // Ensure that the cards form a valid sequence (alternating color and one rank lower)
-                if (!isValidSequence(bottomCardToMove, topCardInDestination)) {
-                    System.out.println("Invalid move. The bottom card of the stack cannot be placed on the top card of the destination lane.");
-                    return;  // Exit early if not a valid sequence
-                }
-            }
+    // Move the last drawn card to a lane
+    public MoveResult moveDrawnCardToLane(int laneIndex) {
+        long start = startTimer();
+        return recordResult(runDrawnCardToLane(laneIndex), start);
+    }
 
-            // Valid move, so perform the move
-            destinationLane.addAll(cardsToMove);  // Add the cards to the destination lane
+    private MoveResult runDrawnCardToLane(int laneIndex) {
+        if (!isLaneIndex(laneIndex)) {
+            return MoveResult.INVALID_MOVE_COMMAND;
+        }
 
-            // Set the moved cards as visible
-            for (PlayingCard card : cardsToMove) {
-                card.setHidden(false);  // Reveal the moved cards
-            }
+        int cardToMove = board.wasteTop();  // Get the last drawn card
+        if (cardToMove == 0) {
+            return MoveResult.DRAW_PILE_EMPTY;
+        }
+        if (!canPlaceInLane(cardToMove, board.laneTop(laneIndex))) {  // Check whether we can place the card
+            return MoveResult.INVALID_LANE_PLACEMENT;
+        }
 
-            // Remove the moved cards from the source lane
-            sourceLane.subList(sourceLane.size() - numCards, sourceLane.size()).clear();
+        int move = Moves.wasteToLane(laneIndex);
+        long record = board.make(move);  // Add the card to the lane, face up
+        commit(record, rules.points(move), true, recentPlacement[laneIndex]);
+        recentPlacement[laneIndex] = true;  // Mark that a card was placed on this lane
+        lastCard = cardToMove;
+        lastTarget = laneIndex;
+        return MoveResult.MOVED_TO_LANE;
+    }
 
-            // Reveal the next top card in the source lane (if any cards are left)
-            if (!sourceLane.isEmpty()) {
-                PlayingCard nextTopCard = sourceLane.get(sourceLane.size() - 1);  // Get the new top card
-                nextTopCard.setHidden(false);  // Reveal the new top card
-            }
+    // Move the last drawn card to a suit pile
+    public MoveResult moveDrawnCardToSuitPile(int pileIndex) {
+        long start = startTimer();
+        return recordResult(runDrawnCardToSuitPile(pileIndex), start);
+    }
 
-            // Update the score for the valid move
-            updateScore(fromLane, toLane, numCards);
-            moveCounter++;
+    private MoveResult runDrawnCardToSuitPile(int pileIndex) {
+        if (!isPileIndex(pileIndex)) {
+            return MoveResult.INVALID_MOVE_COMMAND;
+        }
 
-        } catch (Exception e) {
-            System.out.println("An error occurred: " + e.getMessage());  // Catch any unexpected error and print a message
+        int cardToMove = board.wasteTop();
+        if (cardToMove == 0) {
+            return MoveResult.DRAW_PILE_EMPTY;
         }
+        MoveResult placement = checkSuitPilePlacement(cardToMove, pileIndex);
+        if (placement != MoveResult.MOVED_TO_SUIT_PILE) {
+            return placement;
+        }
+
+        int move = Moves.wasteToPile(pileIndex);
+        long record = board.make(move);
+        commit(record, rules.points(move), true, false);  // 10 points in the classic scoring
+        lastCard = cardToMove;
+        lastTarget = pileIndex;
+        return MoveResult.MOVED_TO_SUIT_PILE;
     }
 
-    // Move a card from a lane to a suit pile
-    protected void moveToSuitPile(String fromLane, String suitPile) {
-        int sourceLaneIndex = Integer.parseInt(fromLane) - 1;
-        List<PlayingCard> sourceLane = gameLanes.get(sourceLaneIndex);
-
-        if (!sourceLane.isEmpty()) {
-            PlayingCard cardToMove = sourceLane.get(sourceLane.size() - 1);
-            if (canPlaceInSuitPile(cardToMove, suitPile)) {
-                sourceLane.remove(sourceLane.size() - 1);
-                addToSuitPile(cardToMove, suitPile);
-
-                if (!sourceLane.isEmpty()) {
-                    PlayingCard nextTopCard = sourceLane.get(sourceLane.size() - 1);
-                    nextTopCard.setHidden(false);  // Reveal the next card
-                }
+    // Draw a card (three in draw-3 games) from the draw pile and store it in unused cards
+    public MoveResult drawCard() {
+        long start = startTimer();
+        return recordResult(runDraw(), start);
+    }
 
-                updateScore(fromLane, suitPile, 1);  // Update score
-                moveCounter++;
-                System.out.println("Moved " + cardToMove + " to Suit Pile " + suitPile);
-            } else {
-                System.out.println("Invalid move. Card cannot be placed in the suit pile.");
+    private MoveResult runDraw() {
+        if (board.stockSize() > 0) {
+            long record = board.make(Moves.draw());  // Turn the top cards of the draw pile onto the drawn cards
+            commit(record, rules.points(Moves.draw()), true, false);
+            lastCard = board.wasteTop();
+            return MoveResult.DREW;
+        }
+        // If the draw pile is empty, recycle unused cards
+        if (board.wasteSize() > 0) {
+            if (!board.canRecycle()) {
+                return MoveResult.NO_MORE_PASSES;
             }
-        } else {
-            System.out.println("Source lane is empty.");
+            recycleDrawPile();  // Recycle the unused cards into the draw pile
+            return MoveResult.RECYCLED;
         }
+        return MoveResult.NO_MORE_CARDS;
     }
 
-    // Draw a card from the draw pile and store it in unused cards
-    protected void drawCard() {
-        if (!drawCardStack.isEmpty()) {
-            PlayingCard cardToMove = drawCardStack.remove(drawCardStack.size() - 1);  // Remove the last card
-            unusedCards.add(cardToMove);  // Store the drawn card temporarily
+    // Record an applied move so it can be undone, and update the score and move counter
+    private void commit(long boardRecord, int points, boolean counted, boolean previousPlacement) {
+        long entry = UndoLog.entry(boardRecord, counted, previousPlacement, points);
+        undoLog.push(entry);
+        if (metrics != null) {
+            metrics.moveApplied(UndoLog.move(entry));
+        }
+        rememberPosition();
+        totalScore += points;
+        if (counted) {
             moveCounter++;
-            System.out.println("Drew card: " + cardToMove);  // Display the drawn card to the player
-        } else {
-            // If the draw pile is empty, recycle unused cards
-            if (!unusedCards.isEmpty()) {
-                recycleDrawPile();  // Recycle the unused cards into the draw pile
-                System.out.println("<- Recycled the unused cards back into the draw pile ->");
-            } else {
-                System.out.println("!! No more cards to draw.");
-            }
+        }
+        if (listener != GameEventListener.NONE) {
+            publish(boardRecord, points);
         }
     }
 
-    // Process card movement from one pile/lane to another
-    private void processCardMovement(String command) {
-        String from = command.substring(0, 1);  // First character for the source
-        String to = command.substring(1, 2);    // Second character for the destination
+    // Tell the listener what an applied move changed; the cards are read back from the board
+    private void publish(long boardRecord, int points) {
+        int move = (int) (boardRecord & ((1L << GameBoard.RECORD_MOVE_BITS) - 1));
+        int to = Moves.to(move);
+        switch (Moves.type(move)) {
+            case Moves.LANE_TO_LANE:
+                listener.cardMoved(move, board.cardAt(to, board.laneSize(to) - Moves.count(move)));
+                break;
+            case Moves.LANE_TO_PILE:
+            case Moves.WASTE_TO_PILE:
+                listener.cardMoved(move, board.pileTop(to));
+                break;
+            case Moves.WASTE_TO_LANE:
+                listener.cardMoved(move, board.laneTop(to));
+                break;
+            case Moves.DRAW:
+                listener.cardDrawn(board.wasteTop());
+                break;
+            case Moves.RECYCLE:
+                listener.drawPileRecycled(board.talonSize());
+                break;
+            default:
+                break;
+        }
+        if (GameBoard.revealedCard(boardRecord)) {
+            listener.cardRevealed(Moves.from(move), board.laneTop(Moves.from(move)));
+        }
+        if (points != 0) {
+            listener.scoreChanged(totalScore, points);
+        }
+        if (board.isWon()) {
+            listener.gameWon(totalScore, moveCounter);
+        }
+    }
 
-        if (from.equalsIgnoreCase("P")) {
-            moveFromDrawPile(to);  // Moving from the draw pile to a lane or suit pile
-        } else if (isLane(from) && isLane(to)) {
-            moveBetweenLanes(from, to, 1);  // Moving between lanes
-        } else if (isLane(from) && isSuitPile(to)) {
-            moveToSuitPile(from, to);  // Moving from a lane to a suit pile
-        } else {
-            System.out.println("Invalid move command. Please try again.");
+    // Receive events for every change made from now on; GameEventListener.NONE stops them
+    public void setListener(GameEventListener listener) {
+        this.listener = listener == null ? GameEventListener.NONE : listener;
+    }
+
+    // Revert the most recent move, including any card it turned face up, in constant time
+    public MoveResult undo() {
+        if (undoLog.isEmpty()) {
+            return MoveResult.NOTHING_TO_UNDO;
+        }
+        long entry = undoLog.pop();
+        board.unmake(UndoLog.boardRecord(entry));
+        forgetPosition();
+        totalScore -= UndoLog.scoreDelta(entry);
+        if (UndoLog.counted(entry)) {
+            moveCounter--;
+        }
+        int move = UndoLog.move(entry);
+        if (Moves.type(move) == Moves.WASTE_TO_LANE) {
+            recentPlacement[Moves.to(move)] = UndoLog.previousPlacement(entry);
+        }
+        listener.moveUndone(move);
+        if (UndoLog.scoreDelta(entry) != 0) {
+            listener.scoreChanged(totalScore, -UndoLog.scoreDelta(entry));
         }
+        return MoveResult.UNDONE;
     }
 
-    // Handle user input commands for moving cards or quitting the game
-    public void handleUserCommand(String userCommand) {
-        userCommand = userCommand.toUpperCase().trim();  // Convert to uppercase and trim spaces
+    // Number of moves that can currently be undone
+    public int getUndoDepth() {
+        return undoLog.size();
+    }
 
-        if (userCommand.matches("\\d{3}")) {  // Command is a three-digit move, like 562
+    // Number of moves played since the deal, not counting undone ones
+    int getHistorySize() {
+        return undoLog.size();
+    }
 
-            trackRecentCommands(userCommand);   // Add the command to recent commands
+    // Packed code of move 'index' since the deal, oldest first
+    int getHistoryMove(int index) {
+        return UndoLog.move(undoLog.get(index));
+    }
 
-            String fromLane = userCommand.substring(0, 1);
-            String toLane = userCommand.substring(1, 2);
-            int numCards = Integer.parseInt(userCommand.substring(2, 3));
+    // Apply a packed move code produced by generateMoves
+    public MoveResult applyMove(int move) {
+        long start = startTimer();
+        return recordResult(runMove(move), start);
+    }
 
-            if (!detectOscillation()) {
-                moveBetweenLanes(fromLane, toLane, numCards);
-            } else {
-                System.out.println("!! Oscillation detected! No score will be added.");
-            }
-        } else if (userCommand.length() == 2) {
-            processCardMovement(userCommand);               // Handle simple commands
-        } else if (userCommand.equals("Q")) {
-            System.out.println("!! Exiting the game.");
-            System.exit(0);                          // Quit the game
-        } else if (userCommand.equals("D")) {
-            drawCard();                                     // Draw a card from the draw pile
-        } else {
-            System.out.println("!! Invalid command. Please try again.");
+    private MoveResult runMove(int move) {
+        switch (Moves.type(move)) {
+            case Moves.LANE_TO_LANE:
+                return runLaneToLane(Moves.from(move), Moves.to(move), Moves.count(move), false);
+            case Moves.LANE_TO_PILE:
+                return runLaneToSuitPile(Moves.from(move), Moves.to(move));
+            case Moves.WASTE_TO_LANE:
+                return runDrawnCardToLane(Moves.to(move));
+            case Moves.WASTE_TO_PILE:
+                return runDrawnCardToSuitPile(Moves.to(move));
+            case Moves.DRAW:
+            case Moves.RECYCLE:
+                return runDraw();
+            default:
+                return MoveResult.INVALID_MOVE_COMMAND;
         }
     }
 
-    private void trackRecentCommands(String command) {
-        recentCommands.add(command);                        // Add the new command to the list
+    // Fill 'buffer' with every legal move in the current position, without allocating
+    public void generateMoves(MoveBuffer buffer) {
+        MoveGenerator.generate(board, buffer);
+    }
 
-        if (recentCommands.size() > 3) {                    // Keep only the last 3 commands
-            recentCommands.remove(0);
+    // Label-based moves kept for existing callers
+
+    // Move a card between lanes (supports moving multiple cards)
+    protected MoveResult moveBetweenLanes(String fromLane, String toLane, int numCards) {
+        if (!isLane(fromLane) || !isLane(toLane)) {
+            return MoveResult.INVALID_MOVE_COMMAND;
         }
+        return moveLaneToLane(Integer.parseInt(fromLane) - 1, Integer.parseInt(toLane) - 1, numCards);
     }
 
-    // Code to overcome Oscillation
-    private boolean detectOscillation() {
-        if (recentCommands.size() < 3) {
-            return false;
+    // Move a card from a lane to a suit pile
+    protected MoveResult moveToSuitPile(String fromLane, String suitPile) {
+        if (!isLane(fromLane)) {
+            return MoveResult.INVALID_MOVE_COMMAND;
         }
-
-        String first = recentCommands.get(0);
-        String second = recentCommands.get(1);
-        String third = recentCommands.get(2);
-
-        // Check if the first and third commands are the same and the second one is the reverse
-        if (first.substring(0, 2).equals(third.substring(0, 2)) &&
-                second.substring(0, 2).equals(new StringBuilder(first.substring(0, 2)).reverse().toString())) {
-            System.out.println("!! Warning: Repeating moves detected.");
-            return true;    // Oscillation detected
+        MoveResult result = moveLaneToSuitPile(Integer.parseInt(fromLane) - 1, CardCodes.parseSuit(suitPile));
+        if (result == MoveResult.ONLY_ACES_ON_EMPTY_SUIT_PILE) {
+            throw new IllegalArgumentException(result.getMessage());
         }
-        return false;
+        return result;
     }
+
     // Move a card from the unused cards (drawn but not used) to a lane or suit pile
-    protected void moveFromDrawPile(String destination) {
-        if (!unusedCards.isEmpty()) {
-            PlayingCard cardToMove = unusedCards.remove(unusedCards.size() - 1);  // Get the last drawn card
-
-            // Ensure the card becomes visible once drawn from the draw pile
-            cardToMove.setHidden(false);  // Set the card as visible (unhide it)
-
-            if (isLane(destination)) {
-                int laneIndex = Integer.parseInt(destination) - 1;
-                if (canPlaceInLane(cardToMove, gameLanes.get(laneIndex))) {  // Check whether we can place the card
-                    gameLanes.get(laneIndex).add(cardToMove);  // Add the card to the lane
-                    recentPlacement[laneIndex] = true;  // Mark that a card was placed on this lane
-                    updateScore("P", destination, 1);  // Update score
-                    moveCounter++;
-                    System.out.println("Moved " + cardToMove + " to Lane " + destination);
-                } else {
-                    System.out.println("Invalid move. Card cannot be placed in this lane.");
-                    unusedCards.add(cardToMove);  // Return card to unused pile if invalid
-                }
-            } else if (isSuitPile(destination)) {
-                if (canPlaceInSuitPile(cardToMove, destination)) {
-                    addToSuitPile(cardToMove, destination);
-                    updateScore("P", destination, 1);  // Update score
-                    moveCounter++;
-                    System.out.println("Moved " + cardToMove + " to Suit Pile " + destination);
-                } else {
-                    System.out.println("Invalid move. Card cannot be placed in the suit pile.");
-                    unusedCards.add(cardToMove);  // Return card to unused pile if invalid
-                }
-            }
-        } else {
-            System.out.println("The draw pile is empty.");
+    protected MoveResult moveFromDrawPile(String destination) {
+        if (isLane(destination)) {
+            return moveDrawnCardToLane(Integer.parseInt(destination) - 1);
+        } else if (isSuitPile(destination)) {
+            return moveDrawnCardToSuitPile(CardCodes.parseSuit(destination));
         }
+        return MoveResult.INVALID_MOVE_COMMAND;
+    }
+
+    // Handle user input commands for moving cards or quitting the game
+    public MoveResult handleUserCommand(String userCommand) {
+        return handleCommand(userCommand);
     }
 
+    // Decode and apply a command without allocating, e.g. straight from a replay log buffer
+    public MoveResult handleCommand(CharSequence command) {
+        return applyCommand(CommandDecoder.decode(command));
+    }
 
-    // Recycle the unused cards back into the draw pile
-    protected void recycleDrawPile() {
-        drawCardStack.addAll(unusedCards);
-        unusedCards.clear();                    // Clear the temporary storage
+    // Decode and apply an ASCII command held in bytes[offset, offset + length)
+    public MoveResult handleCommand(byte[] bytes, int offset, int length) {
+        return applyCommand(CommandDecoder.decode(bytes, offset, length));
     }
 
+    // Apply a code from CommandDecoder, timing it when metrics are on
+    MoveResult applyCommand(int command) {
+        long start = startTimer();
+        return recordResult(runCommand(command), start);
+    }
 
-    // Check if a stack of cards forms a valid sequence (alternating colors and descending rank)
-    private boolean isValidCardStack(List<PlayingCard> cardsToMove) {
-        for (int i = 0; i < cardsToMove.size() - 1; i++) {
-            PlayingCard card = cardsToMove.get(i);
-            PlayingCard nextCard = cardsToMove.get(i + 1);
-            System.out.println("Checking sequence: " + card + " -> " + nextCard);  // Debug print: Show each card being compared
+    private long startTimer() {
+        return metrics == null ? 0 : System.nanoTime();
+    }
 
-            if (!isValidSequence(card, nextCard)) {
-                System.out.println("Invalid sequence between " + card + " and " + nextCard);  // Debug print: Invalid sequence
-                return false;
-            }
+    private MoveResult recordResult(MoveResult result, long start) {
+        if (metrics != null) {
+            metrics.commandHandled(result, System.nanoTime() - start);
         }
-        return true;
+        return result;
     }
 
+    // Record the results and latencies of commands and move method calls, and the moves applied, in
+    // 'metrics', which may be shared with other engines; null switches instrumentation off
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
 
-    private void handleCardMove(String from, String to, int numCards) {
-        if (isLane(from) && isLane(to)) {
-            moveBetweenLanes(from, to, numCards);
-        } else {
-            System.out.println("Invalid move command. Please try again.");
+    private MoveResult runCommand(int command) {
+        switch (command) {
+            case CommandDecoder.INVALID_COMMAND:
+                return MoveResult.INVALID_COMMAND;
+            case CommandDecoder.INVALID_MOVE_COMMAND:
+                return MoveResult.INVALID_MOVE_COMMAND;
+            case CommandDecoder.UNDO:
+                return undo();                              // Take back the last move
+            case CommandDecoder.QUIT:
+                return MoveResult.QUIT;                     // Quitting is left to the caller
+            case CommandDecoder.AUTO_PLAY: {
+                MoveResult result = autoPlayToFoundations() > 0 ? MoveResult.AUTO_PLAYED : MoveResult.NOTHING_TO_AUTO_PLAY;
+                finishIfDecided();
+                return result;
+            }
+            default:
+                break;
+        }
+        // A lane move that repeats a recent position is refused before it is committed, so it raises no
+        // event and counts as no move
+        MoveResult result = Moves.type(command) == Moves.LANE_TO_LANE
+                ? runLaneToLane(Moves.from(command), Moves.to(command), Moves.count(command), true)
+                : runMove(command);
+        if (result.isSuccess()) {
+            finishIfDecided();
         }
+        return result;
     }
 
-    protected boolean canPlaceInLane(PlayingCard card, List<PlayingCard> lane) {
-        if (lane.isEmpty()) {
-            //System.out.println("Trying to place " + card + " in an empty lane.");
-            if (card.getCardRank().equals("K")) {
-                //System.out.println("Card is a King, placing in empty lane.");
-                return true;  // Only Kings can be placed in an empty lane
-            } else {
-                System.out.println("Card is not a King, cannot place in empty lane.");
+    private void finishIfDecided() {
+        if (autoFinish && canAutoFinish()) {
+            autoFinish();
+        }
+    }
+
+    // Play every card that is safe on the suit piles from the lane tops and the drawn card, repeating until
+    // none is left, and return how many went. Each card is a separate undoable move scored as usual, but
+    // the listener hears of the whole batch once, through cardsAutoPlayed.
+    public int autoPlayToFoundations() {
+        return playToFoundations(false);
+    }
+
+    // True when the rest of the game plays itself: the draw pile is used up and every lane is one face-up run,
+    // so the lowest card left is always on top of some lane
+    public boolean canAutoFinish() {
+        if (board.talonSize() > 0) {
+            return false;
+        }
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            if (board.runLength(lane) != board.laneSize(lane)) {
                 return false;
             }
-        } else {
-            PlayingCard topCard = lane.get(lane.size() - 1);
-            return isValidSequence(card, topCard);  // Check if the move follows the rules
         }
+        return true;
     }
 
+    // Move all remaining cards to the suit piles when canAutoFinish() allows it, returning how many went
+    public int autoFinish() {
+        return canAutoFinish() ? playToFoundations(true) : 0;
+    }
 
-    // Check if a card can be placed in a suit pile
-    private boolean canPlaceInSuitPile(PlayingCard card, String suitPile) {
-        List<PlayingCard> targetPile = getSuitPile(suitPile);
+    // With auto-finish on, any command that leaves the game decided also plays it out
+    public void setAutoFinish(boolean autoFinish) {
+        this.autoFinish = autoFinish;
+    }
 
-        // Check if the suit pile is empty and ensure only Aces can be placed in an empty pile
-        if (targetPile.isEmpty()) {
-            if (!card.getCardRank().equals("A")) {
-                throw new IllegalArgumentException("Only Aces can be placed in an empty suit pile.");
+    private int playToFoundations(boolean anyCard) {
+        GameEventListener batchListener = listener;
+        listener = GameEventListener.NONE;  // The batch is published once at the end
+        int played = 0;
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int lane = 0; lane < GameBoard.LANES; lane++) {
+                int top = board.laneTop(lane);
+                int pile = top == 0 || CardCodes.isHidden(top) ? -1 : MoveGenerator.pileFor(board, top);
+                if (pile >= 0 && (anyCard || MoveGenerator.isSafeToPile(board, top))) {
+                    runLaneToSuitPile(lane, pile);
+                    played++;
+                    progress = true;
+                }
+            }
+            int drawn = board.wasteTop();
+            int pile = drawn == 0 ? -1 : MoveGenerator.pileFor(board, drawn);
+            if (pile >= 0 && (anyCard || MoveGenerator.isSafeToPile(board, drawn))) {
+                runDrawnCardToSuitPile(pile);
+                played++;
+                progress = true;
             }
-            return true;
-        } else {
-            PlayingCard topCard = targetPile.get(targetPile.size() - 1);
-            // Check if the card is the next in sequence and has the same suit
-            return card.getSuitType().equals(topCard.getSuitType()) && isRankOneMore(card.getCardRank(), topCard.getCardRank());
         }
+        listener = batchListener;
+        if (played > 0 && listener != GameEventListener.NONE) {
+            listener.cardsAutoPlayed(played, totalScore);
+            if (board.isWon()) {
+                listener.gameWon(totalScore, moveCounter);
+            }
+        }
+        return played;
     }
 
+    private void rememberPosition() {
+        addPosition(board.hash());
+        storeBoard();
+    }
 
-    // Add a card to the corresponding suit pile
-    private void addToSuitPile(PlayingCard card, String suitPile) {
-        getSuitPile(suitPile).add(card);  // Add the card to the suit pile
+    // A position restored from a snapshot, known only by its hash
+    private void rememberPosition(long hash) {
+        addPosition(hash);
+        unknownBoards |= 1 << newestPosition;
     }
 
-    // Get the suit pile based on the suit label
-    protected List<PlayingCard> getSuitPile(String suit) {
-        switch (suit) {
-            case "H":
-                return heartsStack;
-            case "D":
-                return diamondsStack;
-            case "C":
-                return clubsStack;
-            case "S":
-                return spadesStack;
-            default:
-                return null;
+    private void addPosition(long hash) {
+        newestPosition = (newestPosition + 1) & (RECENT_POSITIONS - 1);
+        recentPositions[newestPosition] = hash;
+        recentPositionCount = Math.min(recentPositionCount + 1, RECENT_POSITIONS);
+    }
+
+    // Keep a copy of the current position in the newest slot, to confirm hash matches against
+    private void storeBoard() {
+        recentBoards[newestPosition].copyFrom(board);
+        unknownBoards &= ~(1 << newestPosition);
+    }
+
+    // Drop the newest position after an undo, keeping at least the current one
+    private void forgetPosition() {
+        if (recentPositionCount > 1) {
+            newestPosition = (newestPosition - 1) & (RECENT_POSITIONS - 1);
+            recentPositionCount--;
+        } else {
+            recentPositions[newestPosition] = board.hash();
+            storeBoard();
         }
     }
 
-    // Check if two cards can be placed in sequence (alternating colors and descending rank)
-    protected boolean isValidSequence(PlayingCard card, PlayingCard topCard) {
-        boolean isOppositeColor = ((card.getSuitType().equals("H") || card.getSuitType().equals("D")) &&
-                (topCard.getSuitType().equals("C") || topCard.getSuitType().equals("S"))) ||
-                ((card.getSuitType().equals("C") || card.getSuitType().equals("S")) &&
-                        (topCard.getSuitType().equals("H") || topCard.getSuitType().equals("D")));
+    // Code to overcome Oscillation: true when the board, with a move made but not yet committed, matches
+    // one of the last few positions. A hash match is only believed once the stored board agrees.
+    private boolean repeatsRecentPosition() {
+        long current = board.hash();
+        for (int i = 0; i < recentPositionCount; i++) {
+            int slot = (newestPosition - i) & (RECENT_POSITIONS - 1);
+            if (recentPositions[slot] == current
+                    && ((unknownBoards & 1 << slot) != 0 || recentBoards[slot].samePosition(board))) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        boolean isOneRankLower = isRankOneLess(card.getCardRank(), topCard.getCardRank());
 
-        System.out.println("Comparing " + card + " and " + topCard + ": isOppositeColor = " + isOppositeColor + ", isOneRankLower = " + isOneRankLower);  // Debug print: Show comparison details
+    // Recycle the unused cards back into the draw pile
+    protected void recycleDrawPile() {
+        long record = board.make(Moves.recycle());  // Turn the drawn cards back over
+        commit(record, rules.points(Moves.recycle()), false, false);  // Recycling is not counted as a move
+    }
+
 
-        return isOppositeColor && isOneRankLower;
+    protected boolean canPlaceInLane(PlayingCard card, List<PlayingCard> lane) {
+        if (lane.isEmpty()) {
+            return canPlaceInLane(card.getCode(), 0);
+        }
+        return canPlaceInLane(card.getCode(), lane.get(lane.size() - 1).getCode());
     }
 
+    // Packed form of canPlaceInLane, 'topCard' is 0 for an empty lane
+    private boolean canPlaceInLane(int card, int topCard) {
+        if (topCard == 0) {
+            return rules.fillsEmptyLane(card);  // Only Kings can be placed in an empty lane, unless the rules say otherwise
+        } else {
+            return CardCodes.canStack(card, topCard);  // Check if the move follows the rules
+        }
+    }
 
-    // Check if the rank of the card is one less than the top card
-    protected boolean isRankOneLess(String rank, String topRank) {
-        List<String> ranks = Arrays.asList("A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K");
 
-        int cardRankIndex = ranks.indexOf(rank);
-        int topCardRankIndex = ranks.indexOf(topRank);
+    // Check if a card can be placed in a suit pile, MOVED_TO_SUIT_PILE means the move is allowed
+    private MoveResult checkSuitPilePlacement(int card, int pileIndex) {
+        int topCard = board.pileTop(pileIndex);
 
-        System.out.println("Comparing ranks: " + rank + " (" + cardRankIndex + ") and " + topRank + " (" + topCardRankIndex + ")");  // Debug print: Show rank indices
+        // Check if the suit pile is empty and ensure only Aces can be placed in an empty pile
+        if (topCard == 0 && CardCodes.rank(card) != CardCodes.ACE) {
+            return MoveResult.ONLY_ACES_ON_EMPTY_SUIT_PILE;
+        }
+        // Check if the card is the next in sequence and has the same suit
+        return CardCodes.canPlaceOnPile(card, topCard) ? MoveResult.MOVED_TO_SUIT_PILE : MoveResult.INVALID_SUIT_PILE_PLACEMENT;
+    }
 
-        // FIX: Make sure the logic checks if cardRankIndex is one less than topCardRankIndex
-        return cardRankIndex == topCardRankIndex - 1;  // Corrected comparison
+    // Get the suit pile based on the suit label
+    protected List<PlayingCard> getSuitPile(String suit) {
+        int pileIndex = CardCodes.parseSuit(suit);
+        return pileIndex < 0 ? null : suitPiles.get(pileIndex);
     }
 
-    // Check if the rank is one more for valid suit pile moves
-    private boolean isRankOneMore(String rank, String topRank) {
-        List<String> ranks = Arrays.asList("A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K");
-        return ranks.indexOf(rank) == ranks.indexOf(topRank) + 1;
+    // Check if two cards can be placed in sequence (alternating colors and descending rank)
+    protected boolean isValidSequence(PlayingCard card, PlayingCard topCard) {
+        return CardCodes.canStack(card.getCode(), topCard.getCode());
     }
 
-    // Scoring function that updates score based on the type of move
-    private void updateScore(String from, String to, int numCards) {
-        if (from.equals("P") && isSuitPile(to)) {
-            totalScore += 10;  // 10 points for moving from draw pile to suit pile
-        } else if (isLane(from) && isSuitPile(to)) {
-            totalScore += 20;  // 20 points for moving from a lane to a suit pile
-        } else if (isLane(from) && isLane(to)) {
-            totalScore += 5 * numCards;   // 5 points for moving between lanes
-        }
+
+    // Check if the rank of the card is one less than the top card
+    protected boolean isRankOneLess(String rank, String topRank) {
+        int cardRankIndex = CardCodes.parseRank(rank);
+        int topCardRankIndex = CardCodes.parseRank(topRank);
+        return cardRankIndex > 0 && cardRankIndex == topCardRankIndex - 1;
     }
 
     // Helper methods to check if a label corresponds to a lane or a suit pile
     private boolean isLane(String label) {
-        return label.matches("[1-7]");  // Lanes are numbered 1 to 7
+        return label.length() == 1 && label.charAt(0) >= '1' && label.charAt(0) <= '7';  // Lanes are numbered 1 to 7
     }
 
     private boolean isSuitPile(String label) {
         return label.equals("H") || label.equals("D") || label.equals("C") || label.equals("S");  // Suit piles
     }
 
+    private static boolean isLaneIndex(int laneIndex) {
+        return laneIndex >= 0 && laneIndex < GameBoard.LANES;
+    }
+
+    private static boolean isPileIndex(int pileIndex) {
+        return pileIndex >= 0 && pileIndex < GameBoard.PILES;
+    }
+
 
     // Return the size of a specific lane (number of cards in a lane)
     public int getLaneSize(int laneIndex) {
-        return gameLanes.get(laneIndex - 1).size();
+        return board.laneSize(laneIndex - 1);
     }
 
     // Return the size of a specific suit pile (number of cards in the suit pile)
     public int getSuitPileSize(String suit) {
-        switch (suit.toUpperCase()) {
-            case "H":
-                return heartsStack.size();
-            case "D":
-                return diamondsStack.size();
-            case "C":
-                return clubsStack.size();
-            case "S":
-                return spadesStack.size();
-            default:
-                throw new IllegalArgumentException("Invalid suit: " + suit);
+        int pileIndex = CardCodes.parseSuit(suit.toUpperCase());
+        if (pileIndex < 0) {
+            throw new IllegalArgumentException("Invalid suit: " + suit);
         }
+        return board.pileSize(pileIndex);
     }
 
     // Return the last drawn card from the draw pile
     public PlayingCard getLastDrawnCard() {
-        return unusedCards.isEmpty() ? null : unusedCards.get(unusedCards.size() - 1);
+        int card = board.wasteTop();
+        return card == 0 ? null : PlayingCard.of(card);
     }
 
     // Return the size of the draw pile (number of cards left in the draw pile)
     public int getDrawPileSize() {
-        return unusedCards.size();
+        return board.wasteSize();
+    }
+
+    // True once every card is on the suit piles
+    public boolean isWon() {
+        return board.isWon();
     }
 
     // Check if there are any possible moves left in the game
+    // Cycling the draw pile only counts when one of its cards could then be played; isLost() also spots
+    // positions that still have moves but can no longer be won
     public boolean hasPossibleMoves() {
-        // Implement logic to check if any moves are possible
-        // This could involve checking all lanes, draw pile, and suit piles
-        return !unusedCards.isEmpty() || gameLanes.stream().anyMatch(lane -> !lane.isEmpty());
+        return MoveGenerator.hasProductiveMove(board, scratchMoves);
+    }
+
+    // True when the game provably cannot be won any more, see DeadEndAnalyzer; cheap enough to ask after
+    // every move. Not every lost game is detected.
+    public boolean isLost() {
+        return DeadEndAnalyzer.isLost(board, scratchMoves);
     }
 
     // Method to get a specific lane by index (1-based)
@@ -508,8 +830,43 @@ class PatienceGameEngine {
         return gameLanes.get(laneIndex - 1);
     }
 
+    public int getTotalScore() {
+        return totalScore;
+    }
 
+    public int getMoveCounter() {
+        return moveCounter;
+    }
 
-}
+    // Card involved in the last successful move or draw
+    public PlayingCard getLastCard() {
+        return lastCard == 0 ? null : PlayingCard.of(lastCard);
+    }
+
+    // Lane or suit pile index (0-based) the last card was moved to
+    public int getLastTarget() {
+        return lastTarget;
+    }
 
+    // Seed (or Microsoft deal number) the current game was dealt from
+    public long getSeed() {
+        return seed;
+    }
+
+    // SEEDED_DEAL, MICROSOFT_DEAL or RESTORED_GAME
+    int getDealSource() {
+        return dealSource;
+    }
+
+    // Variant the current game is played under
+    public GameRules getRules() {
+        return rules;
+    }
+
+    // Primitive game state backing this engine
+    GameBoard getBoard() {
+        return board;
+    }
+
+}
 
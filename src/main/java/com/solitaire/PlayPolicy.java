@@ -0,0 +1,15 @@
+package com.solitaire;
+
+// Strategy used to play out games without a human, e.g. by the SimulationRunner.
+// A policy may keep per-game state, so each thread needs its own instance.
+interface PlayPolicy {
+    int RESIGN = -1;
+
+    // Called before the first move of every game
+    default void newGame(PatienceGameEngine engine) {
+    }
+
+    // Pick one of the legal 'moves' for the engine's position, or return RESIGN to end the game.
+    // The buffer may be reordered or overwritten.
+    int choose(PatienceGameEngine engine, MoveBuffer moves);
+}
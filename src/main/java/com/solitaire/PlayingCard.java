@@ -1,40 +1,78 @@
 package com.solitaire;
 
 // Class representing a playing card with a suit and rank
+// The card is a thin, immutable view over a packed CardCodes value; the String accessors are kept for
+// existing callers. Whether a card is face down belongs to the board, so the engine hands out shared
+// instances from of(): one per card for each side, created once, so reading lanes allocates nothing.
 class PlayingCard {
-    private String suitType;
-    private String cardRank;
-    private boolean isHidden;  // New attribute to track visibility of the card
+    private static final PlayingCard[] SHARED = new PlayingCard[CardCodes.HIDDEN_BIT << 1];
+
+    static {
+        for (int i = 0; i < CardCodes.DECK_SIZE; i++) {
+            int code = CardCodes.fromIndex(i);
+            SHARED[code] = new PlayingCard(code);
+            SHARED[code | CardCodes.HIDDEN_BIT] = new PlayingCard(code | CardCodes.HIDDEN_BIT);
+        }
+    }
+
+    private final int code;  // Suit, rank and hidden bits, see CardCodes
 
     // Constructor
     public PlayingCard(String suitType, String cardRank, boolean isHidden) {
-        this.suitType = suitType;
-        this.cardRank = cardRank;
-        this.isHidden = isHidden;  // Assign the passed 'isHidden' value
+        int suit = CardCodes.parseSuit(suitType);
+        int rank = CardCodes.parseRank(cardRank);
+        if (suit < 0 || rank < 0) {
+            throw new IllegalArgumentException("Invalid card: " + cardRank + suitType);
+        }
+        this.code = CardCodes.encode(suit, rank, isHidden);
+    }
+
+    PlayingCard(int code) {
+        this.code = code;
+    }
+
+    // The shared card for a packed code
+    static PlayingCard of(int code) {
+        return SHARED[code & (CardCodes.HIDDEN_BIT | CardCodes.FACE_MASK)];
     }
 
+    // Packed representation used by the engine
+    int getCode() {
+        return code;
+    }
 
-    // Getters and setters for card properties
+    // Getters for card properties
     public String getSuitType() {
-        return suitType;
+        return CardCodes.SUIT_LABELS[CardCodes.suit(code)];
     }
 
     public String getCardRank() {
-        return cardRank;
+        return CardCodes.RANK_LABELS[CardCodes.rank(code)];
     }
 
     public boolean isHidden() {
-        return isHidden;
+        return CardCodes.isHidden(code);
     }
 
-    public void setHidden(boolean hidden) {
-        this.isHidden = hidden;  // Setter for the hidden state
+    // Cards are equal when they show the same suit and rank, whether or not they are hidden
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PlayingCard)) {
+            return false;
+        }
+        return (code & CardCodes.FACE_MASK) == (((PlayingCard) other).code & CardCodes.FACE_MASK);
+    }
+
+    @Override
+    public int hashCode() {
+        return code & CardCodes.FACE_MASK;
     }
 
     @Override
     public String toString() {
-        return cardRank + suitType;  // Format: 5H, QS, etc.
+        return CardCodes.toString(code);  // Format: 5H, QS, etc.
     }
 }
-
-
@@ -0,0 +1,19 @@
+package com.solitaire;
+
+import java.util.SplittableRandom;
+
+// Plays a uniformly random legal move; a baseline for comparing smarter policies.
+// The random stream is seeded from each deal, so a game plays out the same way on any thread.
+final class RandomPolicy implements PlayPolicy {
+    private SplittableRandom random = new SplittableRandom(0);
+
+    @Override
+    public void newGame(PatienceGameEngine engine) {
+        random = new SplittableRandom(engine.getSeed());
+    }
+
+    @Override
+    public int choose(PatienceGameEngine engine, MoveBuffer moves) {
+        return moves.get(random.nextInt(moves.size()));
+    }
+}
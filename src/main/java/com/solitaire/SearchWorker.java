@@ -0,0 +1,180 @@
+package com.solitaire;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// One thread's depth-first search state: a private board, per-depth move buffers and the current path.
+// Workers share a transposition table and a Budget, so the same search code drives the single-threaded
+// Solver and every leaf task of the ParallelSolver.
+final class SearchWorker {
+    // Result of arriving at a node
+    static final int WON = 0;
+    static final int CUT = 1;     // Pruned by the table, at the depth limit or out of budget
+    static final int EXPAND = 2;
+
+    private static final int HEAP_SAMPLE_MASK = 0xFFFF;
+
+    // Node budget and stop signal shared by every worker of one solve.
+    // Workers reserve nodes in chunks so the shared counter is only touched once per chunk.
+    static final class Budget {
+        static final int CHUNK = 1024;
+
+        private final long nodeLimit;
+        private final AtomicLong reserved = new AtomicLong();
+        private volatile boolean stopped;
+
+        Budget(long nodeLimit) {
+            this.nodeLimit = nodeLimit;
+        }
+
+        // Grant up to CHUNK nodes, or 0 once the budget is spent or the search was stopped
+        int reserve() {
+            if (stopped) {
+                return 0;
+            }
+            long before = reserved.getAndAdd(CHUNK);
+            long granted = Math.min(CHUNK, nodeLimit - before);
+            if (granted <= 0) {
+                stopped = true;
+                return 0;
+            }
+            return (int) granted;
+        }
+
+        // Hand back nodes reserved but not searched
+        void release(int nodes) {
+            reserved.addAndGet(-nodes);
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        boolean isStopped() {
+            return stopped;
+        }
+
+        boolean isExhausted() {
+            return reserved.get() >= nodeLimit;
+        }
+    }
+
+    final GameBoard board = new GameBoard();
+    final int[] path = new int[Solver.MAX_DEPTH];
+    private final MoveBuffer[] buffers = new MoveBuffer[Solver.MAX_DEPTH];
+    private final TranspositionTable table;
+    private final Budget budget;
+    private int allowance;
+    private boolean depthCutoff;
+    private boolean complete;  // Search every run split, see Solver.orderMoves
+    private int solutionLength;
+    private long nodes;
+    private long probes;
+    private long hits;
+    private long peakHeapBytes;
+
+    SearchWorker(TranspositionTable table, Budget budget) {
+        this.table = table;
+        this.budget = budget;
+        this.peakHeapBytes = usedHeap();
+    }
+
+    // Search the subtree below the current board, which sits 'depth' moves into the path.
+    // On success the board is left won and path[0..getSolutionLength()) holds the moves.
+    boolean search(int depth, int limit) {
+        int arrival = enter(depth, limit);
+        if (arrival != EXPAND) {
+            return arrival == WON;
+        }
+        MoveBuffer moves = buffers[depth];
+        if (moves == null) {
+            moves = new MoveBuffer();
+            buffers[depth] = moves;
+        }
+        Solver.orderMoves(board, moves, complete);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            long record = board.make(move);
+            path[depth] = move;
+            if (search(depth + 1, limit)) {
+                return true;
+            }
+            board.unmake(record);
+        }
+        return false;
+    }
+
+    // Node bookkeeping on arriving at the current board: win check, budget, depth limit and table
+    int enter(int depth, int limit) {
+        if (board.isWon()) {
+            solutionLength = depth;
+            return WON;
+        }
+        if (allowance == 0 && (allowance = budget.reserve()) == 0) {
+            return CUT;
+        }
+        if (depth == limit) {
+            depthCutoff = true;
+            return CUT;
+        }
+        allowance--;
+        if ((++nodes & HEAP_SAMPLE_MASK) == 0) {
+            peakHeapBytes = Math.max(peakHeapBytes, usedHeap());
+        }
+
+        long hash = board.hash();
+        int remaining = limit - depth;
+        probes++;
+        if (table.probe(hash, remaining)) {
+            hits++;
+            return CUT;
+        }
+        table.store(hash, remaining);
+        return EXPAND;
+    }
+
+    // Return unused reserved nodes to the budget, e.g. when a parallel task finishes
+    void releaseAllowance() {
+        budget.release(allowance);
+        allowance = 0;
+    }
+
+    // True if some node was cut at the depth limit since the last call
+    boolean takeDepthCutoff() {
+        boolean cutoff = depthCutoff;
+        depthCutoff = false;
+        return cutoff;
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    int getSolutionLength() {
+        return solutionLength;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    long getProbes() {
+        return probes;
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getPeakHeapBytes() {
+        return Math.max(peakHeapBytes, usedHeap());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,117 @@
+package com.solitaire;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hosts many independent games keyed by session id. Every session runs its commands through its own
+// mailbox on a shared pool, so thousands of sessions need only a handful of threads and no global lock.
+// Sessions quiet for longer than the idle timeout are evicted by a background sweep. The engines of
+// closed and evicted sessions go back to a pool and are dealt again for new sessions.
+final class SessionManager implements AutoCloseable {
+    static final int DEFAULT_POOL_SIZE = 1024;
+
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ExecutorService executor;
+    private final ScheduledExecutorService sweeper;
+    private final long idleTimeoutNanos;
+    private final HintService hints = new HintService();  // Shared, so popular deals are answered from cache
+    private final EngineMetrics metrics = new EngineMetrics();  // Totals over every hosted game
+    private final EnginePool engines;  // Engines of closed sessions, reused for new ones
+
+    SessionManager(int threads, long idleTimeoutMillis) {
+        this(threads, idleTimeoutMillis, DEFAULT_POOL_SIZE);
+    }
+
+    SessionManager(int threads, long idleTimeoutMillis, int poolSize) {
+        this.engines = new EnginePool(poolSize);
+        this.executor = Executors.newFixedThreadPool(threads, daemon("session-worker"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemon("session-sweeper"));
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        long sweepMillis = Math.max(1, idleTimeoutMillis / 4);
+        sweeper.scheduleWithFixedDelay(() -> evictIdle(System.nanoTime()), sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Start a game dealt from 'seed' and return its session id
+    long open(long seed) {
+        return open(seed, GameRules.CLASSIC);
+    }
+
+    // Start a game of the 'rules' variant dealt from 'seed' and return its session id
+    long open(long seed, GameRules rules) {
+        long id = nextId.getAndIncrement();
+        sessions.put(id, new GameSession(id, engines.acquire(seed, rules), executor, metrics));
+        return id;
+    }
+
+    EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    EnginePool getEnginePool() {
+        return engines;
+    }
+
+    // The session, or null if it was closed or evicted
+    GameSession get(long id) {
+        return sessions.get(id);
+    }
+
+    CompletableFuture<String> submit(long id, String command) {
+        GameSession session = sessions.get(id);
+        return session == null ? CompletableFuture.completedFuture("ERR unknown session " + id) : session.submit(command);
+    }
+
+    CompletableFuture<String> hint(long id) {
+        GameSession session = sessions.get(id);
+        return session == null ? CompletableFuture.completedFuture("ERR unknown session " + id) : session.hint(hints);
+    }
+
+    boolean close(long id) {
+        GameSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        session.close(engines);
+        return true;
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    // Remove sessions idle at 'nowNanos' and return how many went
+    int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            if (session.isIdle(nowNanos, idleTimeoutNanos) && sessions.remove(session.getId(), session)) {
+                session.close(engines);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        executor.shutdown();
+        sessions.values().forEach(GameSession::close);
+        sessions.clear();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicLong count = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
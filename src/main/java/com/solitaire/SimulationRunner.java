@@ -0,0 +1,141 @@
+package com.solitaire;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Plays seeded games in bulk to estimate win rates and score distributions.
+// Every worker thread owns its engine, policy, move buffer and statistics; game i is dealt from seed
+// firstSeed + i and worker w plays games w, w + threads, ..., so totals do not depend on timing.
+// Workers publish copies of their statistics every few games and the calling thread merges the latest
+// copies for progress reports, so nothing mutable is shared and no per-game results are kept.
+final class SimulationRunner {
+    static final int DEFAULT_MAX_MOVES = 1000;
+    private static final int PUBLISH_EVERY = 4096;
+
+    private final int threads;
+    private final Supplier<PlayPolicy> policies;
+    private final int maxMovesPerGame;
+    private final GameRules rules;
+
+    SimulationRunner(int threads, Supplier<PlayPolicy> policies) {
+        this(threads, policies, DEFAULT_MAX_MOVES);
+    }
+
+    SimulationRunner(int threads, Supplier<PlayPolicy> policies, int maxMovesPerGame) {
+        this(threads, policies, maxMovesPerGame, GameRules.CLASSIC);
+    }
+
+    // 'policies' is called once per worker thread; every game is played under 'rules'
+    SimulationRunner(int threads, Supplier<PlayPolicy> policies, int maxMovesPerGame, GameRules rules) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed: " + threads);
+        }
+        this.threads = threads;
+        this.policies = policies;
+        this.maxMovesPerGame = maxMovesPerGame;
+        this.rules = rules;
+    }
+
+    // Play 'games' games and return the totals, passing merged totals to 'progress' every 'reportMillis'
+    SimulationStats run(long firstSeed, long games, Consumer<SimulationStats> progress, long reportMillis)
+            throws InterruptedException {
+        AtomicReferenceArray<SimulationStats> published = new AtomicReferenceArray<>(threads);
+        CountDownLatch finished = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int w = 0; w < threads; w++) {
+                int worker = w;
+                futures.add(executor.submit(() -> {
+                    try {
+                        playShare(worker, firstSeed, games, published);
+                    } finally {
+                        finished.countDown();
+                    }
+                }));
+            }
+            while (!finished.await(reportMillis, TimeUnit.MILLISECONDS)) {
+                progress.accept(merge(published));
+            }
+            for (Future<?> future : futures) {
+                future.get();  // Rethrow a worker's failure
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return merge(published);
+    }
+
+    private void playShare(int worker, long firstSeed, long games, AtomicReferenceArray<SimulationStats> published) {
+        PatienceGameEngine engine = new PatienceGameEngine(firstSeed + worker, rules);
+        PlayPolicy policy = policies.get();
+        MoveBuffer moves = new MoveBuffer();
+        SimulationStats stats = new SimulationStats();
+        published.set(worker, stats.copy());
+
+        for (long game = worker; game < games; game += threads) {
+            engine.setupGame(firstSeed + game);
+            playOut(engine, policy, moves);
+            stats.record(engine.isWon(), engine.getTotalScore(), engine.getMoveCounter());
+            if (stats.getGames() % PUBLISH_EVERY == 0) {
+                published.set(worker, stats.copy());
+            }
+        }
+        published.set(worker, stats);
+    }
+
+    // Play the engine's current deal until it is won, the policy resigns or the move cap is reached
+    void playOut(PatienceGameEngine engine, PlayPolicy policy, MoveBuffer moves) {
+        policy.newGame(engine);
+        for (int played = 0; played < maxMovesPerGame && !engine.isWon(); played++) {
+            engine.generateMoves(moves);
+            if (moves.isEmpty()) {
+                return;
+            }
+            int move = policy.choose(engine, moves);
+            if (move == PlayPolicy.RESIGN) {
+                return;
+            }
+            engine.applyMove(move);
+        }
+    }
+
+    private SimulationStats merge(AtomicReferenceArray<SimulationStats> published) {
+        SimulationStats total = new SimulationStats();
+        for (int w = 0; w < published.length(); w++) {
+            SimulationStats stats = published.get(w);
+            if (stats != null) {
+                total.merge(stats);
+            }
+        }
+        return total;
+    }
+
+    // Usage: SimulationRunner [games] [greedy|random] [threads] [firstSeed] [rules]
+    public static void main(String[] args) throws InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        boolean random = args.length > 1 && args[1].equalsIgnoreCase("random");
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long firstSeed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        GameRules rules = args.length > 4 ? GameRules.forName(args[4]) : GameRules.CLASSIC;
+
+        Supplier<PlayPolicy> policies = random ? RandomPolicy::new : GreedyPolicy::new;
+        SimulationRunner runner = new SimulationRunner(threads, policies, DEFAULT_MAX_MOVES, rules);
+        long start = System.nanoTime();
+        SimulationStats total = runner.run(firstSeed, games, stats -> System.out.println(stats), 1000);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(total);
+        System.out.printf("%.0f games/s%n", total.getGames() / seconds);
+    }
+}
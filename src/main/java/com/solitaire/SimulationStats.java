@@ -0,0 +1,84 @@
+package com.solitaire;
+
+import java.util.Arrays;
+
+// Running totals over simulated games. Holds only counters and fixed-size histograms, so memory does
+// not grow with the number of games. Not thread-safe: each worker owns one and publishes copies.
+final class SimulationStats {
+    static final int MOVE_BUCKET_WIDTH = 10;
+    static final int MOVE_BUCKETS = 51;  // The last bucket collects every game of 500 moves or more
+
+    private long games;
+    private long wins;
+    private long scoreSum;
+    private int maxScore = Integer.MIN_VALUE;  // Scores can be negative, e.g. under Vegas scoring
+    private long moveSum;
+    private final long[] moveHistogram = new long[MOVE_BUCKETS];
+
+    void record(boolean won, int score, int moves) {
+        games++;
+        if (won) {
+            wins++;
+        }
+        scoreSum += score;
+        maxScore = Math.max(maxScore, score);
+        moveSum += moves;
+        moveHistogram[Math.min(moves / MOVE_BUCKET_WIDTH, MOVE_BUCKETS - 1)]++;
+    }
+
+    void merge(SimulationStats other) {
+        games += other.games;
+        wins += other.wins;
+        scoreSum += other.scoreSum;
+        maxScore = Math.max(maxScore, other.maxScore);
+        moveSum += other.moveSum;
+        for (int i = 0; i < MOVE_BUCKETS; i++) {
+            moveHistogram[i] += other.moveHistogram[i];
+        }
+    }
+
+    SimulationStats copy() {
+        SimulationStats copy = new SimulationStats();
+        copy.merge(this);
+        return copy;
+    }
+
+    long getGames() {
+        return games;
+    }
+
+    long getWins() {
+        return wins;
+    }
+
+    double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    double getAverageScore() {
+        return games == 0 ? 0 : (double) scoreSum / games;
+    }
+
+    // Integer.MIN_VALUE until a game is recorded
+    int getMaxScore() {
+        return maxScore;
+    }
+
+    double getAverageMoves() {
+        return games == 0 ? 0 : (double) moveSum / games;
+    }
+
+    // Games per move-count bucket: bucket i counts games of [i * MOVE_BUCKET_WIDTH, (i + 1) * MOVE_BUCKET_WIDTH) moves
+    long[] getMoveHistogram() {
+        return Arrays.copyOf(moveHistogram, MOVE_BUCKETS);
+    }
+
+    @Override
+    public String toString() {
+        if (games == 0) {
+            return "0 games";
+        }
+        return String.format("%d games, %.2f%% won, average score %.1f (max %d), average moves %.1f",
+                games, getWinRate() * 100, getAverageScore(), maxScore, getAverageMoves());
+    }
+}
@@ -0,0 +1,77 @@
+package com.solitaire;
+
+// Outcome and statistics of a solver run
+final class SolveResult {
+    enum Status {
+        SOLVED,       // 'moves' wins the game from the starting position
+        UNSOLVABLE,   // A complete search, one skipping no run split, was exhausted without a win: a proof,
+                      // short of two distinct positions sharing the 48-bit key the transposition table keeps
+        UNKNOWN       // The node or depth budget ran out first; no win was found, but none was ruled out
+    }
+
+    private final Status status;
+    private final int[] moves;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final long tableProbes;
+    private final long tableHits;
+    private final long tableBytes;
+    private final long peakHeapBytes;
+
+    SolveResult(Status status, int[] moves, long nodes, long elapsedNanos,
+                long tableProbes, long tableHits, long tableBytes, long peakHeapBytes) {
+        this.status = status;
+        this.moves = moves;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.tableProbes = tableProbes;
+        this.tableHits = tableHits;
+        this.tableBytes = tableBytes;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    Status getStatus() {
+        return status;
+    }
+
+    boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    // Packed move codes of the solution, empty unless solved
+    int[] getMoves() {
+        return moves;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    // Fraction of transposition table probes that pruned a position
+    double getTableHitRate() {
+        return tableProbes == 0 ? 0 : (double) tableHits / tableProbes;
+    }
+
+    long getTableBytes() {
+        return tableBytes;
+    }
+
+    long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s in %d moves: %d nodes, %.0f nodes/s, table hit rate %.1f%%, table %d KB, peak heap %d MB",
+                status, moves.length, nodes, getNodesPerSecond(), getTableHitRate() * 100,
+                tableBytes / 1024, peakHeapBytes / (1024 * 1024));
+    }
+}
@@ -0,0 +1,165 @@
+package com.solitaire;
+
+import java.util.Arrays;
+
+// Depth-first solver for a dealt game, using the engine's rules through GameBoard make/unmake.
+// The search is iterative deepening: each pass is bounded by a move limit that grows by half until
+// a solution is found, the tree is exhausted without hitting the limit, or the node budget runs out.
+// A Zobrist-hashed transposition table prunes positions already searched at least as deep, and the
+// hash, which ignores lane order (see Zobrist), plus the empty-lane rule below fold symmetric positions
+// together.
+// Passes first skip run splits that look useless (see orderMoves), which can miss a win, so running
+// out of moves then proves nothing: the search switches to complete passes that keep every split, and
+// only a complete pass with no depth cutoff reports UNSOLVABLE.
+final class Solver {
+    static final int DEFAULT_TABLE_BITS = 22;  // 4M entries, 32 MB
+    static final long DEFAULT_NODE_LIMIT = 5_000_000;
+    static final int INITIAL_DEPTH_LIMIT = 200;
+    static final int MAX_DEPTH = 1000;
+
+    // Move ordering priorities, lowest first
+    private static final int PRIORITY_SHIFT = 24;
+    private static final int TO_PILE = 0;
+    private static final int UNCOVERING_LANE_MOVE = 1;
+    private static final int DRAWN_CARD_TO_LANE = 2;
+    private static final int OTHER_LANE_MOVE = 3;
+    private static final int CYCLE_DRAW_PILE = 4;
+
+    private final TranspositionTable table;
+    private final long nodeLimit;
+
+    Solver() {
+        this(DEFAULT_TABLE_BITS, DEFAULT_NODE_LIMIT);
+    }
+
+    Solver(int tableBits, long nodeLimit) {
+        this.table = new TranspositionTable(tableBits);
+        this.nodeLimit = nodeLimit;
+    }
+
+    // Search for a winning line from 'start', which is left untouched
+    SolveResult solve(GameBoard start) {
+        long startTime = System.nanoTime();
+        table.clear();
+        SearchWorker.Budget budget = new SearchWorker.Budget(nodeLimit);
+        SearchWorker worker = new SearchWorker(table, budget);
+        worker.board.copyFrom(start);
+
+        SolveResult.Status status = SolveResult.Status.UNKNOWN;
+        int limit = INITIAL_DEPTH_LIMIT;
+        while (true) {
+            if (worker.search(0, limit)) {
+                status = SolveResult.Status.SOLVED;
+                break;
+            }
+            if (budget.isExhausted()) {
+                break;
+            }
+            if (!worker.takeDepthCutoff()) {
+                if (worker.isComplete()) {
+                    status = SolveResult.Status.UNSOLVABLE;
+                    break;
+                }
+                // Search the same depth again without skipping splits; table entries from the pruned
+                // passes would wrongly cut it short
+                worker.setComplete(true);
+                table.clear();
+                continue;
+            }
+            if (limit == MAX_DEPTH) {
+                break;
+            }
+            limit = nextLimit(limit);
+        }
+
+        int[] moves = status == SolveResult.Status.SOLVED
+                ? Arrays.copyOf(worker.path, worker.getSolutionLength()) : new int[0];
+        return new SolveResult(status, moves, worker.getNodes(), System.nanoTime() - startTime,
+                worker.getProbes(), worker.getHits(), table.getMemoryBytes(), worker.getPeakHeapBytes());
+    }
+
+    static int nextLimit(int limit) {
+        return Math.min(MAX_DEPTH, limit * 3 / 2);
+    }
+
+    // Generate the moves worth searching, best first.
+    // A safe suit pile move is forced and searched alone. Moves onto an empty lane are only kept for the
+    // first empty lane, since any other empty lane leads to a symmetric position. Both keep every line
+    // that can win. A run is only split when the card left behind can be played to a suit pile, which
+    // is a guess: a split can also make room for another card on the one it exposes.
+    static void orderMoves(GameBoard board, MoveBuffer moves) {
+        orderMoves(board, moves, false);
+    }
+
+    // 'complete' keeps every run split, so a search that runs out of moves proves the game is lost
+    static void orderMoves(GameBoard board, MoveBuffer moves, boolean complete) {
+        MoveGenerator.generate(board, moves);
+
+        int firstEmptyLane = -1;
+        for (int lane = 0; lane < GameBoard.LANES && firstEmptyLane < 0; lane++) {
+            if (board.laneSize(lane) == 0) {
+                firstEmptyLane = lane;
+            }
+        }
+
+        int kept = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int priority;
+            switch (Moves.type(move)) {
+                case Moves.LANE_TO_PILE:
+                case Moves.WASTE_TO_PILE: {
+                    int card = Moves.type(move) == Moves.LANE_TO_PILE ? board.laneTop(Moves.from(move)) : board.wasteTop();
+                    if (MoveGenerator.isSafeToPile(board, card)) {
+                        moves.clear();
+                        moves.add(move);
+                        return;
+                    }
+                    priority = TO_PILE;
+                    break;
+                }
+                case Moves.LANE_TO_LANE: {
+                    if (board.laneSize(Moves.to(move)) == 0 && Moves.to(move) != firstEmptyLane) {
+                        continue;
+                    }
+                    int from = Moves.from(move);
+                    int below = board.laneSize(from) - Moves.count(move) - 1;
+                    if (below < 0 || CardCodes.isHidden(board.cardAt(from, below))) {
+                        priority = UNCOVERING_LANE_MOVE;
+                    } else if (complete || MoveGenerator.pileFor(board, board.cardAt(from, below)) >= 0) {
+                        // Splitting a run mostly helps when the card it leaves behind can go up
+                        priority = OTHER_LANE_MOVE;
+                    } else {
+                        continue;
+                    }
+                    break;
+                }
+                case Moves.WASTE_TO_LANE:
+                    if (board.laneSize(Moves.to(move)) == 0 && Moves.to(move) != firstEmptyLane) {
+                        continue;
+                    }
+                    priority = DRAWN_CARD_TO_LANE;
+                    break;
+                default:
+                    priority = CYCLE_DRAW_PILE;
+                    break;
+            }
+            moves.set(kept++, (priority << PRIORITY_SHIFT) | move);
+        }
+        moves.truncate(kept);
+
+        // Insertion sort, stable so generator order breaks ties
+        for (int i = 1; i < kept; i++) {
+            int value = moves.get(i);
+            int j = i - 1;
+            while (j >= 0 && moves.get(j) > value) {
+                moves.set(j + 1, moves.get(j));
+                j--;
+            }
+            moves.set(j + 1, value);
+        }
+        for (int i = 0; i < kept; i++) {
+            moves.set(i, moves.get(i) & ((1 << PRIORITY_SHIFT) - 1));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.solitaire;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size transposition table for the solver.
+// Each entry packs the upper 48 bits of a position hash with the remaining search depth it was searched
+// to. Entries live in buckets of four; when a bucket is full the shallowest entry is evicted, so memory
+// stays bounded at 8 bytes per entry however long the search runs.
+// The table is lock-free and may be shared by parallel workers: key and depth travel in one long, so a
+// racing reader sees a whole old or new entry, never a torn one. Two writers racing on a bucket can
+// lose a store, which only costs a re-search of that position later.
+final class TranspositionTable {
+    static final int BUCKET_SIZE = 4;
+    private static final long DEPTH_MASK = 0xFFFF;
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+
+    // 'sizeBits' is log2 of the number of entries
+    TranspositionTable(int sizeBits) {
+        if (sizeBits < 2 || sizeBits > 30) {
+            throw new IllegalArgumentException("Table size must be between 2^2 and 2^30 entries: " + sizeBits);
+        }
+        entries = new AtomicLongArray(1 << sizeBits);
+        bucketMask = (entries.length() / BUCKET_SIZE) - 1;
+    }
+
+    // True when the position was already searched at least 'depth' moves deep
+    boolean probe(long hash, int depth) {
+        long key = hash & ~DEPTH_MASK;
+        int base = bucket(hash);
+        for (int i = base; i < base + BUCKET_SIZE; i++) {
+            long entry = entries.getOpaque(i);
+            if (entry != 0 && (entry & ~DEPTH_MASK) == key) {
+                return (entry & DEPTH_MASK) >= depth;
+            }
+        }
+        return false;
+    }
+
+    // Remember that the position has been searched 'depth' moves deep
+    void store(long hash, int depth) {
+        long key = hash & ~DEPTH_MASK;
+        long entry = key | Math.max(1, Math.min(depth, DEPTH_MASK));  // A zero entry marks an empty slot
+        int base = bucket(hash);
+        int victim = base;
+        long shallowest = Long.MAX_VALUE;
+        for (int i = base; i < base + BUCKET_SIZE; i++) {
+            long existing = entries.getOpaque(i);
+            if (existing == 0 || (existing & ~DEPTH_MASK) == key) {
+                entries.setOpaque(i, entry);
+                return;
+            }
+            if ((existing & DEPTH_MASK) < shallowest) {
+                shallowest = existing & DEPTH_MASK;
+                victim = i;
+            }
+        }
+        entries.setOpaque(victim, entry);
+    }
+
+    private int bucket(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & bucketMask) * BUCKET_SIZE;
+    }
+
+    // Not safe to call while a search is using the table
+    void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.setPlain(i, 0);
+        }
+    }
+
+    long getMemoryBytes() {
+        return (long) entries.length() * Long.BYTES;
+    }
+}
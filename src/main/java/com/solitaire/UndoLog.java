@@ -0,0 +1,76 @@
+package com.solitaire;
+
+import java.util.Arrays;
+
+// Stack of undo entries, one long per move.
+// The low bits hold the GameBoard record from make(); the engine adds what it needs on top:
+// whether the move counted towards the move counter, the previous recent-placement flag
+// of the destination lane, and the score delta.
+final class UndoLog {
+    private static final long COUNTED_BIT = 1L << GameBoard.RECORD_BITS;
+    private static final long PLACEMENT_BIT = 1L << (GameBoard.RECORD_BITS + 1);
+    private static final int SCORE_SHIFT = 48;  // Signed 16-bit score delta in the top bits
+    private static final long BOARD_MASK = (1L << GameBoard.RECORD_BITS) - 1;
+
+    private long[] entries = new long[64];
+    private int size;
+
+    static long entry(long boardRecord, boolean counted, boolean previousPlacement, int scoreDelta) {
+        return boardRecord
+                | (counted ? COUNTED_BIT : 0)
+                | (previousPlacement ? PLACEMENT_BIT : 0)
+                | ((long) scoreDelta << SCORE_SHIFT);
+    }
+
+    static long boardRecord(long entry) {
+        return entry & BOARD_MASK;
+    }
+
+    static int move(long entry) {
+        return (int) (entry & ((1L << GameBoard.RECORD_MOVE_BITS) - 1));
+    }
+
+    static boolean counted(long entry) {
+        return (entry & COUNTED_BIT) != 0;
+    }
+
+    static boolean previousPlacement(long entry) {
+        return (entry & PLACEMENT_BIT) != 0;
+    }
+
+    static int scoreDelta(long entry) {
+        return (int) (entry >> SCORE_SHIFT);  // Arithmetic shift keeps the sign
+    }
+
+    void push(long entry) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = entry;
+    }
+
+    long pop() {
+        return entries[--size];
+    }
+
+    long peek() {
+        return entries[size - 1];
+    }
+
+    // Entry 'index', counting from the oldest move still on the log
+    long get(int index) {
+        return entries[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
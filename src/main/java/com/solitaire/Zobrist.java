@@ -0,0 +1,85 @@
+package com.solitaire;
+
+import java.util.SplittableRandom;
+
+// Zobrist keys for hashing board positions.
+// Lane keys depend on the card and its depth in the lane but not on the lane index, and pile keys only
+// on the top card, so positions that differ by a permutation of lanes or suit piles hash the same.
+// The keys of each lane are combined and scrambled by mixLane before the lanes are combined; XOR-ing
+// the raw keys of all lanes would let a card move to the same depth in another lane without changing
+// the hash. An empty lane contributes nothing, which makes all empty lanes equivalent.
+final class Zobrist {
+    private static final long[] LANE_KEYS = new long[(CardCodes.HIDDEN_BIT << 1) * GameBoard.LANE_CAPACITY];
+    private static final long[] TALON_KEYS = new long[(CardCodes.FACE_MASK + 1) * GameBoard.TALON_CAPACITY];
+    private static final long[] WASTE_SIZE_KEYS = new long[GameBoard.TALON_CAPACITY + 1];
+    private static final long[] PILE_KEYS = new long[CardCodes.FACE_MASK + 1];
+    private static final long[] RECYCLES_KEYS = new long[GameRules.UNLIMITED + 1];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_CAFE_F00DL);  // Fixed keys keep hashes stable between runs
+        fill(LANE_KEYS, random);
+        fill(TALON_KEYS, random);
+        fill(WASTE_SIZE_KEYS, random);
+        fill(PILE_KEYS, random);
+        PILE_KEYS[0] = 0;  // Empty pile
+        fill(RECYCLES_KEYS, random);
+        RECYCLES_KEYS[0] = 0;  // Never recycled, or recycling is unlimited and not counted
+    }
+
+    private Zobrist() {
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    static long laneKey(int code, int depth) {
+        return LANE_KEYS[(code & (CardCodes.HIDDEN_BIT | CardCodes.FACE_MASK)) * GameBoard.LANE_CAPACITY + depth];
+    }
+
+    // Scramble the combined keys of one lane; mixLane(0) == 0, so an empty lane adds nothing
+    static long mixLane(long keys) {
+        keys = (keys ^ (keys >>> 30)) * 0xBF58476D1CE4E5B9L;  // SplitMix64 finalizer, a bijection
+        keys = (keys ^ (keys >>> 27)) * 0x94D049BB133111EBL;
+        return keys ^ (keys >>> 31);
+    }
+
+    static long talonKey(int code, int position) {
+        return TALON_KEYS[(code & CardCodes.FACE_MASK) * GameBoard.TALON_CAPACITY + position];
+    }
+
+    static long wasteSizeKey(int wasteSize) {
+        return WASTE_SIZE_KEYS[wasteSize];
+    }
+
+    static long pileKey(int topCard) {
+        return PILE_KEYS[topCard & CardCodes.FACE_MASK];
+    }
+
+    static long recyclesKey(int recycles) {
+        return RECYCLES_KEYS[recycles];
+    }
+
+    // Hash a whole board from scratch; GameBoard keeps the same value up to date incrementally
+    static long hash(GameBoard board) {
+        long hash = 0;
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            long keys = 0;
+            for (int depth = 0; depth < board.laneSize(lane); depth++) {
+                keys ^= laneKey(board.cardAt(lane, depth), depth);
+            }
+            hash ^= mixLane(keys);
+        }
+        for (int position = 0; position < board.talonSize(); position++) {
+            hash ^= talonKey(board.talonCard(position), position);
+        }
+        hash ^= wasteSizeKey(board.wasteSize());
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            hash ^= pileKey(board.pileTop(pile));
+        }
+        hash ^= recyclesKey(board.recycles());
+        return hash;
+    }
+}
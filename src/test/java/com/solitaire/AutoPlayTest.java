@@ -0,0 +1,116 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutoPlayTest {
+
+    private static int card(String label) {
+        return new PlayingCard(label.substring(label.length() - 1), label.substring(0, label.length() - 1), false).getCode();
+    }
+
+    private static void fillPile(GameBoard board, String suit, int rank) {
+        int pile = CardCodes.parseSuit(suit);
+        for (int r = CardCodes.ACE; r <= rank; r++) {
+            board.pushPile(pile, CardCodes.encode(pile, r, false));
+        }
+    }
+
+    @Test
+    public void testPlaysOnlySafeCards() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = engine.getBoard();
+        board.clear();
+        fillPile(board, "H", 2);
+        fillPile(board, "C", 2);
+        fillPile(board, "S", 1);
+        board.pushLane(0, card("KD") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("AD"));
+        board.pushLane(1, card("3H"));   // Safe only once both black suits reach 2
+        board.pushLane(2, card("2S"));
+        board.pushLane(3, card("3C"));   // Not safe: the 2D is still in play and could go on it
+
+        assertEquals(3, engine.autoPlayToFoundations());
+        assertEquals(1, board.pileSize(CardCodes.parseSuit("D")));
+        assertEquals(3, board.pileSize(CardCodes.parseSuit("H")));
+        assertEquals(2, board.pileSize(CardCodes.parseSuit("S")));
+        assertEquals(card("3C"), board.laneTop(3));
+        assertFalse(CardCodes.isHidden(board.laneTop(0)), "Playing the AD reveals the card beneath");
+        assertEquals(60, engine.getTotalScore());
+
+        engine.undo();
+        assertEquals(2, board.pileSize(CardCodes.parseSuit("H")), "Each card is undone on its own");
+    }
+
+    @Test
+    public void testAutoPlayCommand() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = engine.getBoard();
+        board.clear();
+        board.pushLane(0, card("5S"));
+        assertEquals(MoveResult.NOTHING_TO_AUTO_PLAY, engine.handleCommand("A"));
+
+        board.pushLane(1, card("AH"));
+        assertEquals(MoveResult.AUTO_PLAYED, engine.handleCommand("a"));
+        assertEquals(0, engine.getLaneSize(2));
+    }
+
+    // Everything but the spades from the Jack up and the King of clubs is on the suit piles
+    private static GameBoard endgame(PatienceGameEngine engine) {
+        GameBoard board = engine.getBoard();
+        board.clear();
+        fillPile(board, "H", CardCodes.KING);
+        fillPile(board, "D", CardCodes.KING);
+        fillPile(board, "C", CardCodes.KING - 1);
+        fillPile(board, "S", 10);
+        board.pushLane(0, card("QS") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("JS"));
+        board.pushLane(1, card("KS"));
+        return board;
+    }
+
+    @Test
+    public void testAutoFinishNeedsEveryCardFaceUpAndNoDrawPile() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = endgame(engine);
+        board.setStock(new byte[]{(byte) card("KC")}, 0, 1);
+        assertFalse(engine.canAutoFinish(), "The QS is face down and the KC is in the draw pile");
+        assertEquals(0, engine.autoFinish());
+
+        board.popLane(0);
+        board.popLane(0);
+        board.pushLane(0, card("QS"));
+        board.pushLane(3, card("JS"));
+        assertFalse(engine.canAutoFinish(), "The KC is still in the draw pile");
+
+        board.setStock(new byte[0], 0, 0);
+        board.pushLane(2, card("KC"));
+        assertTrue(engine.canAutoFinish());
+        assertEquals(4, engine.autoFinish());
+        assertTrue(engine.isWon());
+    }
+
+    @Test
+    public void testAutoFinishModeFinishesAfterTheDecidingMove() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = endgame(engine);
+        board.pushLane(2, card("KC"));
+        engine.setAutoFinish(true);
+
+        assertEquals(MoveResult.MOVED_TO_SUIT_PILE, engine.handleCommand("1S"), "Playing the JS turns up the QS");
+        assertTrue(engine.isWon(), "Every card was then face up, so the game finished itself");
+
+        engine.undo();
+        assertFalse(engine.isWon(), "Undo steps back through the finishing moves one at a time");
+    }
+
+    @Test
+    public void testAutoFinishIsOffByDefault() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = endgame(engine);
+        board.pushLane(2, card("KC"));
+        engine.handleCommand("1S");
+        assertFalse(engine.isWon());
+        assertTrue(engine.canAutoFinish());
+    }
+}
@@ -0,0 +1,61 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardCodesTest {
+
+    @Test
+    public void testEncodingRoundTrip() {
+        for (int index = 0; index < CardCodes.DECK_SIZE; index++) {
+            int code = CardCodes.fromIndex(index);
+            assertEquals(index, CardCodes.index(code));
+            assertEquals(index, CardCodes.index(CardCodes.withHidden(code, true)), "Hidden bit should not change the identity");
+        }
+    }
+
+    @Test
+    public void testColourBit() {
+        assertTrue(CardCodes.isRed(CardCodes.encode(0, 5, false)), "Hearts are red");
+        assertTrue(CardCodes.isRed(CardCodes.encode(1, 5, false)), "Diamonds are red");
+        assertFalse(CardCodes.isRed(CardCodes.encode(2, 5, false)), "Clubs are black");
+        assertFalse(CardCodes.isRed(CardCodes.encode(3, 5, false)), "Spades are black");
+    }
+
+    @Test
+    public void testCanStackMatchesRules() {
+        for (int a = 0; a < CardCodes.DECK_SIZE; a++) {
+            for (int b = 0; b < CardCodes.DECK_SIZE; b++) {
+                int card = CardCodes.fromIndex(a);
+                int top = CardCodes.fromIndex(b);
+                boolean expected = CardCodes.isRed(card) != CardCodes.isRed(top)
+                        && CardCodes.rank(card) + 1 == CardCodes.rank(top);
+                assertEquals(expected, CardCodes.canStack(card, top), CardCodes.toString(card) + " on " + CardCodes.toString(top));
+                assertEquals(expected, CardCodes.canStack(card | CardCodes.HIDDEN_BIT, top | CardCodes.HIDDEN_BIT));
+            }
+        }
+    }
+
+    @Test
+    public void testCanPlaceOnPile() {
+        int aceHearts = CardCodes.encode(0, CardCodes.ACE, false);
+        int twoHearts = CardCodes.encode(0, 2, false);
+        int twoSpades = CardCodes.encode(3, 2, false);
+        assertTrue(CardCodes.canPlaceOnPile(aceHearts, 0), "Ace should start an empty pile");
+        assertFalse(CardCodes.canPlaceOnPile(twoHearts, 0), "Only Aces can start an empty pile");
+        assertTrue(CardCodes.canPlaceOnPile(twoHearts, aceHearts));
+        assertFalse(CardCodes.canPlaceOnPile(twoSpades, aceHearts), "Suit must match");
+        assertFalse(CardCodes.canPlaceOnPile(CardCodes.encode(0, 3, false), aceHearts), "Rank must be one higher");
+    }
+
+    @Test
+    public void testLabels() {
+        PlayingCard tenClubs = new PlayingCard("C", "10", true);
+        assertEquals("10", tenClubs.getCardRank());
+        assertEquals("C", tenClubs.getSuitType());
+        assertTrue(tenClubs.isHidden());
+        assertEquals("10C", tenClubs.toString());
+        assertEquals(-1, CardCodes.parseRank("1"));
+        assertThrows(IllegalArgumentException.class, () -> new PlayingCard("X", "5", false));
+    }
+}
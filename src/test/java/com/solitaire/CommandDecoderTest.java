@@ -0,0 +1,121 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+
+public class CommandDecoderTest {
+
+    @Test
+    public void testDecodesEveryCommandForm() {
+        assertEquals(Moves.laneToLane(4, 5, 2), CommandDecoder.decode("562"));
+        assertEquals(Moves.laneToLane(0, 1, 1), CommandDecoder.decode("12"));
+        assertEquals(Moves.laneToPile(0, 0), CommandDecoder.decode("1H"));
+        assertEquals(Moves.wasteToLane(2), CommandDecoder.decode("P3"));
+        assertEquals(Moves.wasteToPile(3), CommandDecoder.decode("PS"));
+        assertEquals(Moves.draw(), CommandDecoder.decode("D"));
+        assertEquals(CommandDecoder.UNDO, CommandDecoder.decode("U"));
+        assertEquals(CommandDecoder.QUIT, CommandDecoder.decode("Q"));
+        assertEquals(CommandDecoder.AUTO_PLAY, CommandDecoder.decode(" a "));
+    }
+
+    @Test
+    public void testIgnoresCaseAndSurroundingSpaces() {
+        assertEquals(Moves.laneToPile(6, 2), CommandDecoder.decode("  7c\t"));
+        assertEquals(Moves.wasteToLane(0), CommandDecoder.decode("p1"));
+        assertEquals(Moves.draw(), CommandDecoder.decode(" d "));
+    }
+
+    @Test
+    public void testMultiDigitCounts() {
+        assertEquals(Moves.laneToLane(4, 5, 12), CommandDecoder.decode("5612"));
+        assertEquals(Moves.laneToLane(0, 6, 1), CommandDecoder.decode("1701"));
+        assertEquals(CommandDecoder.INVALID_MOVE_COMMAND, CommandDecoder.decode("12" + (Moves.MAX_COUNT + 1)));
+        assertEquals(CommandDecoder.INVALID_MOVE_COMMAND, CommandDecoder.decode("129999999999"), "Huge counts must not overflow");
+        assertEquals(CommandDecoder.INVALID_MOVE_COMMAND, CommandDecoder.decode("120"));
+    }
+
+    @Test
+    public void testRejectsMalformedCommands() {
+        assertEquals(CommandDecoder.INVALID_COMMAND, CommandDecoder.decode(""));
+        assertEquals(CommandDecoder.INVALID_COMMAND, CommandDecoder.decode("   "));
+        assertEquals(CommandDecoder.INVALID_COMMAND, CommandDecoder.decode("XYZ"));
+        assertEquals(CommandDecoder.INVALID_COMMAND, CommandDecoder.decode("5a2"));
+        assertEquals(CommandDecoder.INVALID_COMMAND, CommandDecoder.decode("X"));
+        assertEquals(CommandDecoder.INVALID_MOVE_COMMAND, CommandDecoder.decode("9X"));
+        assertEquals(CommandDecoder.INVALID_MOVE_COMMAND, CommandDecoder.decode("PX"));
+        assertEquals(CommandDecoder.INVALID_MOVE_COMMAND, CommandDecoder.decode("182"));
+        assertEquals(CommandDecoder.INVALID_MOVE_COMMAND, CommandDecoder.decode("1P"));
+    }
+
+    @Test
+    public void testDecodesBytesInPlace() {
+        byte[] log = "D\n562\n 3h \n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Moves.draw(), CommandDecoder.decode(log, 0, 1));
+        assertEquals(Moves.laneToLane(4, 5, 2), CommandDecoder.decode(log, 2, 3));
+        assertEquals(Moves.laneToPile(2, 0), CommandDecoder.decode(log, 6, 4));
+    }
+
+    @Test
+    public void testMatchesMovesToCommand() {
+        MoveBuffer buffer = new MoveBuffer();
+        for (int game = 0; game < 10; game++) {
+            new PatienceGameEngine(game).generateMoves(buffer);
+            for (int i = 0; i < buffer.size(); i++) {
+                int move = buffer.get(i);
+                int decoded = CommandDecoder.decode(Moves.toCommand(move));
+                assertEquals(Moves.type(move) == Moves.RECYCLE ? Moves.draw() : move, decoded, Moves.toCommand(move));
+            }
+        }
+    }
+
+    @Test
+    public void testEngineMovesLongRunWithMultiDigitCount() {
+        PatienceGameEngine engine = new PatienceGameEngine(1L);
+        engine.getLane(1).clear();
+        engine.getLane(2).clear();  // Lanes are numbered from 1, as in commands
+        String[] run = {"KS", "QH", "JS", "10H", "9S", "8H", "7S", "6H", "5S", "4H"};
+        engine.getLane(2).add(new PlayingCard("D", "2", true));
+        for (String label : run) {
+            engine.getLane(2).add(new PlayingCard(label.substring(label.length() - 1), label.substring(0, label.length() - 1), false));
+        }
+
+        assertEquals(MoveResult.MOVED, engine.handleUserCommand("2110"));
+        assertEquals(10, engine.getLaneSize(1));
+        assertFalse(engine.getLane(2).get(0).isHidden(), "Moving the run reveals the card beneath");
+    }
+
+    @Test
+    public void testOscillationStillDetected() {
+        PatienceGameEngine engine = new PatienceGameEngine(1L);
+        engine.getLane(1).clear();
+        engine.getLane(1).add(new PlayingCard("S", "10", false));
+        engine.getLane(2).clear();
+        engine.getLane(2).add(new PlayingCard("C", "10", false));
+        engine.getLane(2).add(new PlayingCard("H", "9", false));
+        assertEquals(MoveResult.DREW, engine.handleUserCommand("D"));  // Remembers the edited position
+
+        assertEquals(MoveResult.MOVED, engine.handleUserCommand("211"));
+        assertEquals(MoveResult.OSCILLATION, engine.handleUserCommand("121"), "Moving the 9H back repeats the position");
+        assertEquals(2, engine.getLaneSize(1), "The repeating move is not applied");
+        assertEquals(5, engine.getTotalScore());
+    }
+
+    @Test
+    public void testMoveToTheSameDepthOfAnotherLaneIsNoRepeat() {
+        PatienceGameEngine engine = new PatienceGameEngine(1L);
+        engine.getLane(1).clear();
+        engine.getLane(1).add(new PlayingCard("S", "2", true));
+        engine.getLane(1).add(new PlayingCard("H", "8", false));
+        engine.getLane(1).add(new PlayingCard("C", "7", false));
+        engine.getLane(2).clear();
+        engine.getLane(2).add(new PlayingCard("S", "3", true));
+        engine.getLane(2).add(new PlayingCard("D", "8", false));
+        assertEquals(MoveResult.DREW, engine.handleUserCommand("D"));
+        long before = engine.getBoard().hash();
+
+        assertEquals(MoveResult.MOVED, engine.handleUserCommand("121"), "The 7C lands at depth 2 again, in a new position");
+        assertNotEquals(before, engine.getBoard().hash());
+        assertEquals(3, engine.getLaneSize(2));
+    }
+}
@@ -0,0 +1,76 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+public class ConsoleRendererTest {
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    private final ConsoleRenderer renderer = new ConsoleRenderer(new PrintStream(captured));
+
+    private String take() {
+        String output = captured.toString();
+        captured.reset();
+        return output;
+    }
+
+    @Test
+    public void testFullFrame() {
+        PatienceGameEngine game = new PatienceGameEngine(1);
+        game.getLane(1).clear();
+        game.getBoard().pushPile(0, CardCodes.encode(0, CardCodes.ACE, false));
+        game.getBoard().pushPile(0, CardCodes.encode(0, 2, false));
+        renderer.render(game);
+
+        String frame = take();
+        assertTrue(frame.startsWith("-----"), frame);
+        assertTrue(frame.contains("Score: 0 || Moves: 0" + NEWLINE), frame);
+        assertTrue(frame.contains("Draw Pile: 24 cards remaining." + NEWLINE), frame);
+        assertTrue(frame.contains("Lane 1: <- Empty ->" + NEWLINE), frame);
+        assertTrue(frame.contains("Lane 3: * * " + game.getLane(3).get(2) + " " + NEWLINE), frame);
+        assertTrue(frame.contains("Hearts  : [AH, 2H]" + NEWLINE), frame);
+        assertTrue(frame.contains("Spades  : []" + NEWLINE), frame);
+    }
+
+    @Test
+    public void testChangesOnlyWritesChangedLines() {
+        PatienceGameEngine game = new PatienceGameEngine(1);
+        renderer.renderChanges(game);
+        assertTrue(take().contains("Suit Piles"), "The first frame is complete");
+
+        renderer.renderChanges(game);
+        assertEquals("", take(), "Nothing changed");
+
+        game.drawCard();
+        assertEquals("Score: 0 || Moves: 1" + NEWLINE + "Draw Pile: 23 cards remaining." + NEWLINE, renderChanges(game));
+
+        game.getLane(7).clear();
+        game.getLane(2).add(new PlayingCard("H", "A", false));
+        assertEquals("Lane 2: * " + game.getLane(2).get(1) + " AH " + NEWLINE + "Lane 7: <- Empty ->" + NEWLINE, renderChanges(game));
+
+        game.handleCommand("2H");
+        String changes = renderChanges(game);
+        assertTrue(changes.startsWith("Score: 20 || Moves: 2" + NEWLINE + "Lane 2: "), changes);
+        assertTrue(changes.endsWith("Hearts  : [AH]" + NEWLINE), changes);
+        assertFalse(changes.contains("Lane 1"), changes);
+    }
+
+    @Test
+    public void testFullFrameResetsTheBaseline() {
+        PatienceGameEngine game = new PatienceGameEngine(1);
+        renderer.render(game);
+        game.drawCard();
+        renderer.render(game);
+        take();
+        renderer.renderChanges(game);
+        assertEquals("", take());
+    }
+
+    private String renderChanges(PatienceGameEngine game) {
+        renderer.renderChanges(game);
+        return take();
+    }
+}
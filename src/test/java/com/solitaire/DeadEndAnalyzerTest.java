@@ -0,0 +1,109 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadEndAnalyzerTest {
+
+    private static int card(String label) {
+        return new PlayingCard(label.substring(label.length() - 1), label.substring(0, label.length() - 1), false).getCode();
+    }
+
+    // Deal one lane face down from the bottom up, then leave a face-up card on top
+    private static GameBoard lane(String... labels) {
+        GameBoard board = new GameBoard();
+        for (String label : labels) {
+            board.pushLane(0, card(label) | CardCodes.HIDDEN_BIT);
+        }
+        board.pushLane(0, card("KD"));
+        return board;
+    }
+
+    @Test
+    public void testCardAboveItsPredecessorAndBothParentsIsStuck() {
+        // The 5H can only leave on the 6S or 6C, or to the pile after the 3H: all three lie beneath it
+        assertEquals(card("5H"), DeadEndAnalyzer.findStuckCard(lane("3H", "6S", "6C", "5H")));
+        assertTrue(DeadEndAnalyzer.isLost(lane("6C", "3H", "6S", "9D", "5H"), new MoveBuffer()));
+    }
+
+    @Test
+    public void testCardWithAWayOutIsNotStuck() {
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(lane("3H", "6S", "5H")), "The 6C is elsewhere");
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(lane("3D", "6S", "6C", "5H")), "No lower heart beneath it");
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(lane("5H", "3H", "6S", "6C")), "The 5H is beneath the others");
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(lane("QH", "AH", "AS", "AC")), "Aces never wait for other cards");
+    }
+
+    @Test
+    public void testCardOnAFaceUpParentLeavesWithItsRun() {
+        // The 7H lies above the 5H and both black eights, but it moves off with the 8S beneath it
+        GameBoard board = new GameBoard();
+        board.pushLane(0, card("5H") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("8C") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("8S"));
+        board.pushLane(0, card("7H"));
+        board.pushLane(1, card("9D"));
+        MoveBuffer moves = new MoveBuffer();
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(board));
+        assertFalse(DeadEndAnalyzer.isLost(board, moves));
+
+        int move = Moves.laneToLane(0, 1, 2);
+        MoveGenerator.generate(board, moves);
+        boolean found = false;
+        for (int i = 0; i < moves.size(); i++) {
+            found |= moves.get(i) == move;
+        }
+        assertTrue(found, "The 8S and 7H move together");
+        board.make(move);
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(board));
+    }
+
+    @Test
+    public void testKingsAreNeverStuck() {
+        GameBoard board = new GameBoard();
+        board.pushLane(0, card("4C") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("KC"));
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(board));
+    }
+
+    @Test
+    public void testNoProductiveMoveIsLost() {
+        GameBoard board = new GameBoard();
+        board.pushLane(0, card("KS") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("QS"));
+        board.setStock(new byte[]{(byte) card("9H")}, 0, 1);
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(board));
+        assertTrue(DeadEndAnalyzer.isLost(board, new MoveBuffer()));
+
+        board.pushLane(1, card("10C"));
+        assertFalse(DeadEndAnalyzer.isLost(board, new MoveBuffer()), "The 9H can be drawn and played on the 10C");
+    }
+
+    @Test
+    public void testWonGameIsNotLost() {
+        GameBoard board = new GameBoard();
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            for (int rank = CardCodes.ACE; rank <= CardCodes.KING; rank++) {
+                board.pushPile(pile, CardCodes.encode(pile, rank, false));
+            }
+        }
+        assertFalse(DeadEndAnalyzer.isLost(board, new MoveBuffer()));
+    }
+
+    @Test
+    public void testFlaggedDealsAreUnsolvable() {
+        Solver solver = new Solver(18, 100_000);
+        byte[] deck = new byte[CardCodes.DECK_SIZE];
+        GameBoard board = new GameBoard();
+        int flagged = 0;
+        for (long seed = 0; flagged < 3; seed++) {
+            Deals.shuffledDeck(deck, seed);
+            Deals.deal(board, deck);
+            if (DeadEndAnalyzer.isLost(board, new MoveBuffer())) {
+                flagged++;
+                assertNotEquals(SolveResult.Status.SOLVED, solver.solve(board).getStatus(), "Deal " + seed);
+                assertTrue(new PatienceGameEngine(seed).isLost());
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+public class DealLibraryTest {
+
+    private static final long FIRST_SEED = 1;
+    private static final int DEALS = 40;
+    private static final long NODE_LIMIT = 20_000;
+
+    @TempDir
+    static Path dir;
+
+    private static Path library;
+    private static int won;
+
+    @BeforeAll
+    public static void buildLibrary() throws IOException, InterruptedException {
+        library = dir.resolve("deals.pdl");
+        won = new DealLibraryBuilder(2, NODE_LIMIT).build(FIRST_SEED, DEALS, library);
+    }
+
+    @Test
+    public void testLibraryHoldsWonDealsInDifficultyOrder() throws IOException {
+        try (DealLibrary deals = DealLibrary.open(library)) {
+            assertEquals(won, deals.size());
+            assertTrue(won > DEALS / 2, "Most random deals should be won, got " + won);
+            assertEquals(DealLibrary.HEADER_SIZE + won * DealLibrary.RECORD_SIZE, Files.size(library));
+            for (int i = 1; i < deals.size(); i++) {
+                assertTrue(deals.difficultyAt(i - 1) < deals.difficultyAt(i)
+                        || deals.difficultyAt(i - 1) == deals.difficultyAt(i) && deals.seedAt(i - 1) < deals.seedAt(i),
+                        "Deals " + (i - 1) + " and " + i + " are out of order");
+            }
+        }
+    }
+
+    @Test
+    public void testRecordedMetricsMatchTheSolver() throws IOException {
+        Solver solver = new Solver(DealLibraryBuilder.TABLE_BITS, NODE_LIMIT);
+        byte[] deck = new byte[CardCodes.DECK_SIZE];
+        try (DealLibrary deals = DealLibrary.open(library)) {
+            for (int i = 0; i < deals.size(); i += 5) {
+                GameBoard board = new GameBoard();
+                Deals.shuffledDeck(deck, deals.seedAt(i));
+                Deals.deal(board, deck);
+                SolveResult result = solver.solve(board);
+                assertTrue(result.isSolved(), "Deal " + deals.seedAt(i) + " should be winnable");
+                assertEquals(result.getNodes(), deals.nodesAt(i));
+                assertEquals(result.getMoves().length, deals.solutionMovesAt(i));
+                assertEquals(DealLibrary.difficulty(deals.nodesAt(i), deals.recyclesAt(i)), deals.difficultyAt(i));
+
+                PatienceGameEngine engine = new PatienceGameEngine(deals.seedAt(i));
+                for (int move : result.getMoves()) {
+                    assertTrue(engine.applyMove(move).isSuccess());
+                }
+                assertTrue(engine.isWon(), "The engine deals the same game for the seed");
+            }
+        }
+    }
+
+    @Test
+    public void testBucketsSplitTheLibraryIntoThirds() throws IOException {
+        try (DealLibrary deals = DealLibrary.open(library)) {
+            assertEquals(0, deals.firstIndex(DealLibrary.Difficulty.EASY));
+            assertEquals(deals.endIndex(DealLibrary.Difficulty.EASY), deals.firstIndex(DealLibrary.Difficulty.MEDIUM));
+            assertEquals(deals.endIndex(DealLibrary.Difficulty.MEDIUM), deals.firstIndex(DealLibrary.Difficulty.HARD));
+            assertEquals(deals.size(), deals.endIndex(DealLibrary.Difficulty.HARD));
+            int hard = deals.endIndex(DealLibrary.Difficulty.HARD) - deals.firstIndex(DealLibrary.Difficulty.HARD);
+            assertTrue(hard > 0 && hard <= deals.size() - 2 * deals.size() / 3, "Hard bucket holds " + hard);
+            int lastEasy = deals.endIndex(DealLibrary.Difficulty.EASY) - 1;
+            int firstHard = deals.firstIndex(DealLibrary.Difficulty.HARD);
+            assertTrue(deals.difficultyAt(lastEasy) < deals.difficultyAt(firstHard));
+        }
+    }
+
+    @Test
+    public void testPickStaysInsideTheBucket() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        try (DealLibrary deals = DealLibrary.open(library)) {
+            for (DealLibrary.Difficulty bucket : DealLibrary.Difficulty.values()) {
+                int first = deals.firstIndex(bucket);
+                int end = deals.endIndex(bucket);
+                if (first == end) {
+                    continue;
+                }
+                ArrayList<Long> seeds = new ArrayList<>();
+                for (int i = first; i < end; i++) {
+                    seeds.add(deals.seedAt(i));
+                }
+                for (int i = 0; i < 50; i++) {
+                    assertTrue(seeds.contains(deals.pick(bucket, random)), bucket + " pick outside the bucket");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLowerBoundAndRangePick() throws IOException {
+        try (DealLibrary deals = DealLibrary.open(library)) {
+            int median = deals.difficultyAt(deals.size() / 2);
+            int index = deals.lowerBound(median);
+            assertEquals(median, deals.difficultyAt(index));
+            assertTrue(index == 0 || deals.difficultyAt(index - 1) < median);
+            assertEquals(0, deals.lowerBound(Integer.MIN_VALUE));
+            assertEquals(deals.size(), deals.lowerBound(Integer.MAX_VALUE));
+
+            long seed = deals.pick(median, median + 1, new SplittableRandom(1));
+            int picked = -1;
+            for (int i = 0; i < deals.size(); i++) {
+                if (deals.seedAt(i) == seed) {
+                    picked = i;
+                }
+            }
+            assertEquals(median, deals.difficultyAt(picked));
+            assertThrows(NoSuchElementException.class, () -> deals.pick(-2, -1, new SplittableRandom(1)));
+        }
+    }
+
+    @Test
+    public void testOutputDoesNotDependOnThreadCount() throws IOException, InterruptedException {
+        Path single = dir.resolve("single.pdl");
+        new DealLibraryBuilder(1, NODE_LIMIT).build(FIRST_SEED, DEALS, single);
+        assertArrayEquals(Files.readAllBytes(library), Files.readAllBytes(single));
+    }
+
+    @Test
+    public void testEmptyLibrary() throws IOException {
+        Path empty = dir.resolve("empty.pdl");
+        DealLibraryBuilder.write(new ArrayList<>(), empty);
+        try (DealLibrary deals = DealLibrary.open(empty)) {
+            assertEquals(0, deals.size());
+            assertThrows(NoSuchElementException.class, () -> deals.pick(DealLibrary.Difficulty.EASY, new SplittableRandom()));
+        }
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path other = dir.resolve("other.bin");
+        Files.write(other, new byte[]{'P', 'G', 'R', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        assertThrows(IOException.class, () -> DealLibrary.open(other));
+
+        Path truncated = dir.resolve("truncated.pdl");
+        byte[] bytes = Files.readAllBytes(library);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> DealLibrary.open(truncated));
+    }
+}
@@ -0,0 +1,96 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class DealsTest {
+
+    private static String label(int code) {
+        return CardCodes.toString(code);
+    }
+
+    @Test
+    public void testSameSeedGivesSameDeal() {
+        PatienceGameEngine first = new PatienceGameEngine(20241016L);
+        PatienceGameEngine second = new PatienceGameEngine(20241016L);
+        assertArrayEquals(first.getBoard().state, second.getBoard().state);
+        assertEquals(20241016L, first.getSeed());
+
+        PatienceGameEngine other = new PatienceGameEngine(20241017L);
+        assertFalse(Arrays.equals(first.getBoard().state, other.getBoard().state), "Neighbouring seeds deal differently");
+    }
+
+    @Test
+    public void testRedealWithSeedReplaysGame() {
+        PatienceGameEngine engine = new PatienceGameEngine(99L);
+        byte[] dealt = engine.getBoard().state.clone();
+        engine.drawCard();
+        engine.setupGame(99L);
+        assertArrayEquals(dealt, engine.getBoard().state);
+        assertEquals(0, engine.getUndoDepth());
+    }
+
+    @Test
+    public void testDealUsesEveryCardOnce() {
+        byte[] deck = new byte[CardCodes.DECK_SIZE];
+        GameBoard board = new GameBoard();
+        SplittableRandom random = new SplittableRandom(5);
+        for (int game = 0; game < 100; game++) {
+            Deals.orderedDeck(deck);
+            Deals.shuffle(deck, random);
+            Deals.deal(board, deck);
+
+            boolean[] seen = new boolean[CardCodes.DECK_SIZE];
+            for (int lane = 0; lane < GameBoard.LANES; lane++) {
+                assertEquals(lane + 1, board.laneSize(lane));
+                for (int depth = 0; depth <= lane; depth++) {
+                    int card = board.cardAt(lane, depth);
+                    assertEquals(depth < lane, CardCodes.isHidden(card), "Only the top card of a lane is face up");
+                    assertFalse(seen[CardCodes.index(card)], label(card) + " dealt twice");
+                    seen[CardCodes.index(card)] = true;
+                }
+            }
+            assertEquals(24, board.stockSize());
+            for (int pos = 0; pos < board.stockSize(); pos++) {
+                int card = board.talonCard(pos);
+                assertFalse(seen[CardCodes.index(card)], label(card) + " dealt twice");
+                seen[CardCodes.index(card)] = true;
+            }
+        }
+    }
+
+    @Test
+    public void testShuffledDeckMatchesSplittableRandom() {
+        // shuffledDeck inlines SplittableRandom to avoid allocating one; deals must not change
+        byte[] inlined = new byte[CardCodes.DECK_SIZE];
+        byte[] expected = new byte[CardCodes.DECK_SIZE];
+        long[] seeds = {0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 20241016L};
+        SplittableRandom seedSource = new SplittableRandom(99);
+        for (int i = 0; i < seeds.length + 1000; i++) {
+            long seed = i < seeds.length ? seeds[i] : seedSource.nextLong();
+            Deals.shuffledDeck(inlined, seed);
+            Deals.orderedDeck(expected);
+            Deals.shuffle(expected, new SplittableRandom(seed));
+            assertArrayEquals(expected, inlined, "Seed " + seed);
+        }
+    }
+
+    @Test
+    public void testMicrosoftDealNumbers() {
+        // Windows FreeCell game #1 starts JD 2D 9H JC 5D 7H 7C 5H
+        byte[] deck = new byte[CardCodes.DECK_SIZE];
+        Deals.microsoftDeck(deck, 1);
+        String[] expected = {"JD", "2D", "9H", "JC", "5D", "7H", "7C", "5H"};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], label(deck[i]));
+        }
+
+        PatienceGameEngine engine = new PatienceGameEngine(0L);
+        engine.setupMicrosoftDeal(1);
+        assertEquals("JD", label(engine.getBoard().cardAt(0, 0)), "The first card dealt goes to lane 1");
+        assertEquals("JC", label(engine.getBoard().cardAt(2, 0)));
+        assertEquals(1, engine.getSeed());
+    }
+}
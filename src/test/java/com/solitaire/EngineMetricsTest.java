@@ -0,0 +1,112 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class EngineMetricsTest {
+
+    @Test
+    public void testCountsCommandsMovesAndRejections() {
+        EngineMetrics metrics = new EngineMetrics();
+        PatienceGameEngine engine = new PatienceGameEngine(1);
+        engine.setMetrics(metrics);
+        int stock = engine.getBoard().stockSize();
+        for (int i = 0; i <= stock; i++) {
+            engine.handleCommand("D");
+        }
+        engine.handleCommand("X");
+        engine.handleCommand("9H");
+        engine.handleCommand("U");
+
+        assertEquals(stock + 4, metrics.getCommands());
+        assertEquals(stock, metrics.getResultCount(MoveResult.DREW));
+        assertEquals(1, metrics.getRecycles());
+        assertEquals(1, metrics.getResultCount(MoveResult.INVALID_COMMAND));
+        assertEquals(1, metrics.getResultCount(MoveResult.INVALID_MOVE_COMMAND));
+        assertEquals(2, metrics.getRejectedCommands());
+        assertEquals(stock + 1, metrics.getMovesApplied(), "Undo does not take a move back out of the totals");
+        assertEquals(Long.valueOf(stock), metrics.getMoveCounts().get("DRAW"));
+    }
+
+    @Test
+    public void testMovesFromTheMoveMethodsAreCounted() {
+        EngineMetrics metrics = new EngineMetrics();
+        PatienceGameEngine engine = new PatienceGameEngine(2);
+        engine.setMetrics(metrics);
+        engine.drawCard();
+        assertEquals(MoveResult.INVALID_MOVE_COMMAND, engine.moveLaneToLane(0, 9, 1));
+        assertEquals(MoveResult.DREW, engine.applyMove(Moves.draw()));
+        assertEquals(2, metrics.getMoveCount(Moves.DRAW));
+        assertEquals(3, metrics.getCommands(), "Move method calls are timed like commands");
+        assertEquals(2, metrics.getResultCount(MoveResult.DREW));
+        assertEquals(1, metrics.getRejectedCommands());
+        assertTrue(metrics.getMaxCommandNanos() > 0);
+    }
+
+    @Test
+    public void testOscillationIsNotCountedAsAppliedMove() {
+        EngineMetrics metrics = new EngineMetrics();
+        PatienceGameEngine engine = new PatienceGameEngine(5);
+        engine.getLane(1).clear();
+        engine.getLane(1).add(new PlayingCard("S", "10", false));
+        engine.getLane(2).clear();
+        engine.getLane(2).add(new PlayingCard("C", "10", false));
+        engine.getLane(2).add(new PlayingCard("H", "9", false));
+        engine.setMetrics(metrics);
+
+        assertEquals(MoveResult.DREW, engine.handleCommand("D"));
+        assertEquals(MoveResult.MOVED, engine.handleCommand("211"));
+        assertEquals(MoveResult.OSCILLATION, engine.handleCommand("121"), "Moving the 9H back repeats the position");
+        assertEquals(2, metrics.getMovesApplied());
+        assertEquals(1, metrics.getMoveCount(Moves.LANE_TO_LANE));
+        assertEquals(1, metrics.getOscillations());
+        assertEquals(1, metrics.getRejectedCommands());
+        assertEquals(3, metrics.getCommands());
+    }
+
+    @Test
+    public void testLatencyPercentiles() {
+        EngineMetrics metrics = new EngineMetrics();
+        assertEquals(0, metrics.getP50CommandNanos());
+        for (int i = 0; i < 98; i++) {
+            metrics.commandHandled(MoveResult.MOVED, 100);  // Bucket [64, 128)
+        }
+        metrics.commandHandled(MoveResult.MOVED, 5_000);
+        metrics.commandHandled(MoveResult.MOVED, 1_000_000);
+
+        assertEquals(128, metrics.getP50CommandNanos());
+        assertEquals(8192, metrics.getP99CommandNanos());
+        assertEquals(1L << 20, metrics.percentileNanos(1.0));
+        assertEquals(1_000_000, metrics.getMaxCommandNanos());
+        assertEquals(10_148, metrics.getMeanCommandNanos(), 0.001);
+
+        String dump = metrics.dump();
+        assertTrue(dump.contains("commands 100\n"), dump);
+        assertTrue(dump.contains("latency.lt_128_ns 98\n"), dump);
+        assertTrue(dump.contains("results.MOVED 100\n"), dump);
+
+        metrics.reset();
+        assertEquals(0, metrics.getCommands());
+        assertEquals(0, metrics.getMaxCommandNanos());
+    }
+
+    @Test
+    public void testReadableOverJmx() throws Exception {
+        EngineMetrics metrics = new EngineMetrics();
+        ObjectName name = metrics.register("test-" + System.nanoTime());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            PatienceGameEngine engine = new PatienceGameEngine(3);
+            engine.setMetrics(metrics);
+            engine.handleCommand("D");
+            assertEquals(1L, server.getAttribute(name, "Commands"));
+            assertEquals(1L, server.getAttribute(name, "MovesApplied"));
+            assertTrue(((String) server.invoke(name, "dump", null, null)).startsWith("commands 1\n"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
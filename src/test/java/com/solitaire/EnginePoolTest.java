@@ -0,0 +1,88 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+
+public class EnginePoolTest {
+
+    @Test
+    public void testResetDealsLikeANewEngine() {
+        PatienceGameEngine engine = new PatienceGameEngine(1, GameRules.VEGAS);
+        engine.setMetrics(new EngineMetrics());
+        engine.setAutoFinish(true);
+        engine.drawCard();
+        engine.drawCard();
+
+        engine.reset(42, GameRules.DRAW_THREE);
+        PatienceGameEngine fresh = new PatienceGameEngine(42, GameRules.DRAW_THREE);
+        assertArrayEquals(fresh.snapshot(), engine.snapshot());
+        assertEquals(fresh.getBoard().hash(), engine.getBoard().hash());
+        assertEquals(0, engine.getUndoDepth());
+        assertEquals(MoveResult.NOTHING_TO_UNDO, engine.undo());
+        assertSame(GameRules.DRAW_THREE, engine.getRules());
+    }
+
+    @Test
+    public void testPoolReusesReleasedEngines() {
+        EnginePool pool = new EnginePool(1);
+        PatienceGameEngine first = pool.acquire(3, GameRules.CLASSIC);
+        PatienceGameEngine second = pool.acquire(4, GameRules.CLASSIC);
+        assertNotSame(first, second);
+
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, pool.size(), "A full pool drops the engine");
+
+        PatienceGameEngine reused = pool.acquire(5, GameRules.VEGAS);
+        assertSame(first, reused);
+        assertEquals(5, reused.getSeed());
+        assertArrayEquals(new PatienceGameEngine(5, GameRules.VEGAS).snapshot(), reused.snapshot());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void testLanesHandOutSharedCards() {
+        PatienceGameEngine engine = new PatienceGameEngine(6);
+        for (int lane = 1; lane <= GameBoard.LANES; lane++) {
+            for (PlayingCard card : engine.getLane(lane)) {
+                assertSame(PlayingCard.of(card.getCode()), card);
+            }
+        }
+        PlayingCard top = engine.getLane(7).get(6);
+        assertFalse(top.isHidden());
+        assertTrue(engine.getLane(7).get(0).isHidden(), "Face-down state comes from the board");
+        assertNotSame(PlayingCard.of(top.getCode() | CardCodes.HIDDEN_BIT), top);
+        assertEquals(PlayingCard.of(top.getCode() | CardCodes.HIDDEN_BIT), top);
+    }
+
+    @Test
+    public void testPooledGamesAllocateNothing() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        Assumptions.assumeTrue(allocation.isThreadAllocatedMemorySupported());
+        allocation.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        EnginePool pool = new EnginePool(4);
+        MoveBuffer moves = new MoveBuffer();
+        int games = 20_000;
+        for (int round = 0; round < 3; round++) {  // The first rounds warm up and fill the pool
+            long before = allocation.getThreadAllocatedBytes(thread);
+            for (int game = 0; game < games; game++) {
+                PatienceGameEngine engine = pool.acquire(game, GameRules.CLASSIC);
+                engine.drawCard();
+                engine.generateMoves(moves);
+                engine.hasPossibleMoves();
+                engine.isLost();
+                pool.release(engine);
+            }
+            long bytesPerGame = (allocation.getThreadAllocatedBytes(thread) - before) / games;
+            if (round == 2) {
+                assertEquals(0, bytesPerGame, "Bytes allocated per pooled game");
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class GameBoardTest {
+
+    private static int card(String label) {
+        PlayingCard card = new PlayingCard(label.substring(label.length() - 1), label.substring(0, label.length() - 1), false);
+        return card.getCode();
+    }
+
+    @Test
+    public void testMoveRunRevealsSourceTop() {
+        GameBoard board = new GameBoard();
+        board.pushLane(0, card("9C") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("7H"));
+        board.pushLane(0, card("6S"));
+        board.pushLane(1, card("8S"));
+
+        board.moveRun(0, 1, 2);
+
+        assertEquals(1, board.laneSize(0));
+        assertFalse(CardCodes.isHidden(board.laneTop(0)), "The uncovered card should be turned face up");
+        assertEquals(3, board.laneSize(1));
+        assertEquals(card("7H"), board.cardAt(1, 1));
+        assertEquals(card("6S"), board.laneTop(1));
+    }
+
+    @Test
+    public void testMoveRunOnlyMovesTheFaceUpRun() {
+        GameBoard board = new GameBoard();
+        board.pushLane(0, card("9C") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("7H"));
+        board.pushLane(0, card("6S"));
+        board.pushLane(1, card("KD"));
+        assertThrows(IllegalStateException.class, () -> board.moveRun(0, 2, 3), "The 9C is face down");
+        assertThrows(IllegalStateException.class, () -> board.moveRun(0, 2, 0));
+        assertEquals(3, board.laneSize(0), "A rejected move leaves the lane alone");
+    }
+
+    @Test
+    public void testLongRunMovesAsOneBlock() {
+        GameBoard board = new GameBoard();
+        board.pushLane(0, card("4S") | CardCodes.HIDDEN_BIT);
+        for (int rank = CardCodes.KING; rank >= CardCodes.ACE + 1; rank--) {
+            board.pushLane(0, CardCodes.encode(rank % 2 == 0 ? 0 : 3, rank, false));  // Hearts and spades
+        }
+        assertEquals(12, board.runLength(0));
+        long record = board.make(Moves.laneToLane(0, 1, 12));
+        assertEquals(12, board.runLength(1));
+        assertEquals(1, board.runLength(0), "The 4S was turned face up");
+        assertEquals(Zobrist.hash(board), board.hash());
+
+        board.unmake(record);
+        assertEquals(0, board.laneSize(1));
+        assertEquals(13, board.laneSize(0));
+        assertEquals(12, board.runLength(0));
+        assertTrue(CardCodes.isHidden(board.cardAt(0, 0)));
+    }
+
+    @Test
+    public void testUnmakeRestoresRunLengths() {
+        Random random = new Random(17);
+        MoveBuffer buffer = new MoveBuffer();
+        for (int game = 0; game < 50; game++) {
+            GameBoard board = new PatienceGameEngine(game).getBoard();
+            List<Long> records = new ArrayList<>();
+            List<byte[]> states = new ArrayList<>();
+            for (int step = 0; step < 200; step++) {
+                MoveGenerator.generate(board, buffer);
+                if (buffer.isEmpty()) {
+                    break;
+                }
+                states.add(board.state.clone());
+                records.add(board.make(buffer.get(random.nextInt(buffer.size()))));
+            }
+            for (int i = records.size() - 1; i >= 0; i--) {
+                board.unmake(records.get(i));
+                assertArrayEquals(states.get(i), board.state, "State after unmaking move " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testDrawPopAndRecycle() {
+        GameBoard board = new GameBoard();
+        byte[] stock = {(byte) card("AH"), (byte) card("2H"), (byte) card("3H")};
+        board.setStock(stock, 0, stock.length);
+
+        board.draw();
+        board.draw();
+        assertEquals(card("2H"), board.wasteTop());
+        assertEquals(1, board.stockSize());
+
+        assertEquals(card("2H"), board.popWaste());
+        assertEquals(card("AH"), board.wasteTop());
+        assertEquals(2, board.talonSize());
+
+        board.recycle();
+        assertEquals(0, board.wasteSize());
+        assertEquals(2, board.stockSize());
+        board.draw();
+        assertEquals(card("AH"), board.wasteTop(), "Recycling keeps the original draw order");
+    }
+
+    @Test
+    public void testCopyFrom() {
+        GameBoard board = new GameBoard();
+        board.pushLane(3, card("KD"));
+        board.pushPile(0, card("AH"));
+
+        GameBoard copy = new GameBoard();
+        copy.copyFrom(board);
+        copy.popLane(3);
+
+        assertEquals(1, board.laneSize(3), "The copy must not share state with the original");
+        assertEquals(0, copy.laneSize(3));
+        assertEquals(1, copy.pileSize(0));
+    }
+
+    @Test
+    public void testListViews() {
+        GameBoard board = new GameBoard();
+        List<PlayingCard> lane = board.laneView(2);
+        lane.add(new PlayingCard("S", "K", false));
+        lane.add(new PlayingCard("H", "Q", true));
+        assertEquals(2, board.laneSize(2));
+        assertTrue(lane.get(1).isHidden());
+        lane.clear();
+        assertEquals(0, board.laneSize(2));
+
+        board.pushPile(1, card("AD"));
+        board.pushPile(1, card("2D"));
+        assertEquals("[AD, 2D]", board.pileView(1).toString());
+        board.popPile(1);
+        assertEquals("[AD]", board.pileView(1).toString());
+    }
+
+    @Test
+    public void testIncrementalHashMatchesFullHash() {
+        Random random = new Random(3);
+        MoveBuffer buffer = new MoveBuffer();
+        for (int game = 0; game < 50; game++) {
+            PatienceGameEngine engine = new PatienceGameEngine(game);
+            GameBoard board = engine.getBoard();
+            assertEquals(Zobrist.hash(board), board.hash(), "Hash after the deal");
+
+            List<Long> records = new ArrayList<>();
+            List<Long> hashes = new ArrayList<>();
+            for (int step = 0; step < 200; step++) {
+                MoveGenerator.generate(board, buffer);
+                if (buffer.isEmpty()) {
+                    break;
+                }
+                hashes.add(board.hash());
+                records.add(board.make(buffer.get(random.nextInt(buffer.size()))));
+                assertEquals(Zobrist.hash(board), board.hash(), "Hash after move " + step);
+            }
+            for (int i = records.size() - 1; i >= 0; i--) {
+                board.unmake(records.get(i));
+                assertEquals(hashes.get(i), board.hash(), "Hash after unmaking move " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testHashFollowsListViewEdits() {
+        GameBoard board = new PatienceGameEngine(9).getBoard();
+        List<PlayingCard> lane = board.laneView(6);
+        lane.add(2, new PlayingCard("H", "Q", false));
+        lane.set(0, new PlayingCard("S", "A", false));
+        lane.remove(4);
+        lane.subList(1, 3).clear();
+        assertEquals(Zobrist.hash(board), board.hash());
+
+        GameBoard copy = new GameBoard();
+        copy.copyFrom(board);
+        assertEquals(board.hash(), copy.hash());
+        copy.clear();
+        assertEquals(Zobrist.hash(copy), copy.hash());
+    }
+}
@@ -0,0 +1,215 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameEventTest {
+
+    // Writes each event as a short line
+    private static final class Recorder implements GameEventListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void cardMoved(int move, int card) {
+            events.add("moved " + Moves.toCommand(move) + " " + CardCodes.toString(card));
+        }
+
+        @Override
+        public void cardRevealed(int lane, int card) {
+            events.add("revealed " + (lane + 1) + " " + CardCodes.toString(card));
+        }
+
+        @Override
+        public void cardDrawn(int card) {
+            events.add("drew " + CardCodes.toString(card));
+        }
+
+        @Override
+        public void drawPileRecycled(int cards) {
+            events.add("recycled " + cards);
+        }
+
+        @Override
+        public void scoreChanged(int score, int delta) {
+            events.add("score " + score + " " + delta);
+        }
+
+        @Override
+        public void cardsAutoPlayed(int cards, int score) {
+            events.add("auto-played " + cards + " " + score);
+        }
+
+        @Override
+        public void gameWon(int score, int moves) {
+            events.add("won " + score + " " + moves);
+        }
+
+        @Override
+        public void moveUndone(int move) {
+            events.add("undone " + Moves.toCommand(move));
+        }
+    }
+
+    private static int card(String label) {
+        return new PlayingCard(label.substring(label.length() - 1), label.substring(0, label.length() - 1), false).getCode();
+    }
+
+    // Hearts and diamonds are complete, clubs up to the Queen, spades up to the Jack
+    private static PatienceGameEngine endgame() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = engine.getBoard();
+        board.clear();
+        for (int pile = 0; pile < GameBoard.PILES; pile++) {
+            int top = pile < 2 ? CardCodes.KING : pile == 2 ? CardCodes.KING - 1 : 11;
+            for (int rank = CardCodes.ACE; rank <= top; rank++) {
+                board.pushPile(pile, CardCodes.encode(pile, rank, false));
+            }
+        }
+        board.pushLane(0, card("KS") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("QS"));
+        board.setStock(new byte[]{(byte) card("KC")}, 0, 1);
+        return engine;
+    }
+
+    @Test
+    public void testEventsFollowTheGame() {
+        PatienceGameEngine engine = endgame();
+        Recorder recorder = new Recorder();
+        engine.setListener(recorder);
+
+        engine.handleCommand("1S");
+        engine.handleCommand("D");
+        engine.handleCommand("U");
+        engine.handleCommand("D");
+        engine.handleCommand("PC");
+        engine.handleCommand("1S");
+        assertEquals(List.of(
+                "moved 1S QS", "revealed 1 KS", "score 20 20",
+                "drew KC",
+                "undone D",
+                "drew KC",
+                "moved PC KC", "score 30 10",
+                "moved 1S KS", "score 50 20", "won 50 4"), recorder.events);
+    }
+
+    @Test
+    public void testAutoPlayIsOneEvent() {
+        PatienceGameEngine engine = endgame();
+        GameEventQueue queue = new GameEventQueue(16);
+        engine.setListener(queue);
+        engine.handleCommand("D");
+        assertEquals(MoveResult.AUTO_PLAYED, engine.handleCommand("A"));
+        assertEquals(4, engine.getUndoDepth(), "Each card is still undone on its own");
+
+        Recorder recorder = new Recorder();
+        queue.drainTo(recorder);
+        assertEquals(List.of("drew KC", "auto-played 3 50", "won 50 4"), recorder.events);
+    }
+
+    @Test
+    public void testRefusedOscillationRaisesNoEvents() {
+        PatienceGameEngine engine = new PatienceGameEngine(1L);
+        engine.getLane(1).clear();
+        engine.getLane(1).add(new PlayingCard("S", "10", false));
+        engine.getLane(2).clear();
+        engine.getLane(2).add(new PlayingCard("C", "10", false));
+        engine.getLane(2).add(new PlayingCard("H", "9", false));
+        engine.handleCommand("D");
+        engine.handleCommand("211");
+
+        Recorder recorder = new Recorder();
+        engine.setListener(recorder);
+        assertEquals(MoveResult.OSCILLATION, engine.handleCommand("121"));
+        assertEquals(List.of(), recorder.events);
+        assertEquals(2, engine.getUndoDepth(), "Nothing to undo for the refused move");
+    }
+
+    @Test
+    public void testRecycleAndUndoScore() {
+        PatienceGameEngine engine = endgame();
+        Recorder recorder = new Recorder();
+        engine.setListener(recorder);
+        engine.drawCard();
+        engine.drawCard();
+        engine.handleCommand("1S");
+        engine.undo();
+        assertEquals(List.of("drew KC", "recycled 1", "moved 1S QS", "revealed 1 KS", "score 20 20",
+                "undone 1S", "score 0 -20"), recorder.events);
+
+        engine.setListener(GameEventListener.NONE);
+        engine.drawCard();
+        assertEquals(7, recorder.events.size(), "No events after the listener is removed");
+    }
+
+    @Test
+    public void testQueueDeliversEventsOnAnotherThread() throws InterruptedException {
+        GameEventQueue queue = new GameEventQueue(64);
+        Recorder recorder = new Recorder();
+        PatienceGameEngine engine = endgame();
+        engine.setListener(queue);
+
+        Thread game = new Thread(() -> {
+            for (String command : new String[]{"1S", "D", "PC", "1S"}) {
+                engine.handleCommand(command);
+            }
+        });
+        game.start();
+        game.join();
+        assertEquals(9, queue.drainTo(recorder));
+        assertEquals("won 50 4", recorder.events.get(8));
+        assertEquals(0, queue.drainTo(recorder), "Drained events are gone");
+    }
+
+    @Test
+    public void testFullQueueDropsInsteadOfBlocking() {
+        GameEventQueue queue = new GameEventQueue(3);
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 6; i++) {
+            queue.scoreChanged(i, -i);
+        }
+        assertEquals(2, queue.getDropped());
+
+        Recorder recorder = new Recorder();
+        assertEquals(4, queue.drainTo(recorder));
+        assertEquals(List.of("score 0 0", "score 1 -1", "score 2 -2", "score 3 -3"), recorder.events);
+
+        queue.gameWon(100, 7);
+        queue.drainTo(recorder);
+        assertEquals("won 100 7", recorder.events.get(4), "Slots are reused after draining");
+    }
+
+    @Test
+    public void testConcurrentProducerAndConsumerKeepOrder() throws InterruptedException {
+        GameEventQueue queue = new GameEventQueue(256);
+        int events = 20_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < events; i++) {
+                while (true) {
+                    long before = queue.getDropped();
+                    queue.scoreChanged(i, 0);
+                    if (queue.getDropped() == before) {
+                        break;
+                    }
+                    Thread.yield();  // Retry the dropped event so every value arrives
+                }
+            }
+        });
+        int[] expected = {0};
+        GameEventListener checker = new GameEventListener() {
+            @Override
+            public void scoreChanged(int score, int delta) {
+                assertEquals(expected[0]++, score);
+            }
+        };
+        producer.start();
+        while (expected[0] < events) {
+            if (queue.drainTo(checker) == 0) {
+                Thread.yield();
+            }
+        }
+        producer.join();
+        assertEquals(events, expected[0]);
+    }
+}
@@ -0,0 +1,176 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GameRecordTest {
+
+    @TempDir
+    Path dir;
+
+    private List<byte[]> playAndRecord(Path file, long firstSeed, int games) throws IOException {
+        return playAndRecord(file, firstSeed, games, GameRules.CLASSIC);
+    }
+
+    // Play 'games' random games from consecutive seeds, archive them and return the final boards
+    private List<byte[]> playAndRecord(Path file, long firstSeed, int games, GameRules rules) throws IOException {
+        List<byte[]> finalBoards = new ArrayList<>();
+        SimulationRunner runner = new SimulationRunner(1, RandomPolicy::new, 300);
+        PatienceGameEngine engine = new PatienceGameEngine(0L, rules);
+        try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+            for (int game = 0; game < games; game++) {
+                engine.setupGame(firstSeed + game);
+                runner.playOut(engine, new RandomPolicy(), new MoveBuffer());
+                engine.undo();  // Undone moves are not part of the record
+                writer.write(engine);
+                finalBoards.add(engine.getBoard().state.clone());
+            }
+        }
+        return finalBoards;
+    }
+
+    private static void assertReplays(GameRecordReader reader, List<byte[]> expected, long firstSeed) throws IOException {
+        PatienceGameEngine engine = new PatienceGameEngine(0L);
+        for (int game = 0; game < expected.size(); game++) {
+            assertTrue(reader.next(), "Record " + game);
+            assertEquals(firstSeed + game, reader.getSeed());
+            reader.replay(engine);
+            assertArrayEquals(expected.get(game), engine.getBoard().state, "Board after replaying record " + game);
+        }
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void testStreamingRoundTrip() throws IOException {
+        Path file = dir.resolve("games.pgr");
+        List<byte[]> boards = playAndRecord(file, 100, 50);
+        try (GameRecordReader reader = GameRecordReader.open(file)) {
+            assertReplays(reader, boards, 100);
+            assertEquals(50, reader.getRecordCount());
+        }
+    }
+
+    @Test
+    public void testRecordsKeepTheirRules() throws IOException {
+        Path file = dir.resolve("games.pgr");
+        List<byte[]> boards = playAndRecord(file, 30, 20, GameRules.DRAW_THREE);
+        boards.addAll(playAndRecord(file, 50, 20, GameRules.VEGAS));
+        try (GameRecordReader reader = GameRecordReader.open(file)) {
+            PatienceGameEngine engine = new PatienceGameEngine(0L);
+            for (int game = 0; game < boards.size(); game++) {
+                assertTrue(reader.next());
+                assertSame(game < 20 ? GameRules.DRAW_THREE : GameRules.VEGAS, reader.getRules());
+                reader.replay(engine);
+                assertSame(reader.getRules(), engine.getRules());
+                assertArrayEquals(boards.get(game), engine.getBoard().state, "Board after replaying record " + game);
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void testMicrosoftDealsReplayTheirOwnDeal() throws IOException {
+        Path file = dir.resolve("games.pgr");
+        PatienceGameEngine engine = new PatienceGameEngine(0L, GameRules.DRAW_THREE);
+        engine.setupMicrosoftDeal(11982);
+        SimulationRunner runner = new SimulationRunner(1, GreedyPolicy::new, 300);
+        runner.playOut(engine, new GreedyPolicy(), new MoveBuffer());
+        try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+            writer.write(engine);
+        }
+        try (GameRecordReader reader = new MappedGameRecordReader(file)) {
+            assertTrue(reader.next());
+            assertEquals(PatienceGameEngine.MICROSOFT_DEAL, reader.getDealSource());
+            assertEquals(11982, reader.getSeed());
+            PatienceGameEngine replayed = new PatienceGameEngine(0L);
+            reader.replay(replayed);
+            assertArrayEquals(engine.getBoard().state, replayed.getBoard().state);
+            assertEquals(PatienceGameEngine.MICROSOFT_DEAL, replayed.getDealSource());
+        }
+    }
+
+    @Test
+    public void testRestoredGamesAreNotRecorded() throws IOException {
+        PatienceGameEngine engine = new PatienceGameEngine(12);
+        engine.drawCard();
+        PatienceGameEngine restored = new PatienceGameEngine(engine.snapshot());
+        restored.drawCard();
+        try (GameRecordWriter writer = GameRecordWriter.append(dir.resolve("games.pgr"))) {
+            assertThrows(IllegalStateException.class, () -> writer.write(restored));
+            restored.setupGame(13);
+            writer.write(restored);  // A new deal can be recorded again
+        }
+    }
+
+    @Test
+    public void testMappedReaderAcrossWindows() throws IOException {
+        Path file = dir.resolve("games.pgr");
+        List<byte[]> boards = playAndRecord(file, 7, 40);
+        try (GameRecordReader reader = new MappedGameRecordReader(file, 1024)) {
+            assertReplays(reader, boards, 7);
+        }
+        try (GameRecordReader reader = new MappedGameRecordReader(file)) {
+            assertReplays(reader, boards, 7);
+        }
+    }
+
+    @Test
+    public void testAppendingKeepsEarlierRecords() throws IOException {
+        Path file = dir.resolve("games.pgr");
+        List<byte[]> boards = playAndRecord(file, 1, 3);
+        boards.addAll(playAndRecord(file, 4, 3));
+        try (GameRecordReader reader = GameRecordReader.open(file)) {
+            assertReplays(reader, boards, 1);
+        }
+    }
+
+    @Test
+    public void testRecordsAreCompact() throws IOException {
+        Path file = dir.resolve("games.pgr");
+        int[] moves = new int[200];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = i % 2 == 0 ? Moves.draw() : Moves.laneToLane(6, 5, 12);
+        }
+        try (GameRecordWriter writer = GameRecordWriter.append(file)) {
+            writer.write(-1L, GameRules.CLASSIC, moves, moves.length);
+        }
+        // Header, 2-byte length, 8-byte seed, 2-byte rules, 2-byte count, then 1 byte per draw and 3 per lane move
+        assertEquals(4 + 2 + 8 + 2 + 2 + 100 + 300, Files.size(file));
+        try (GameRecordReader reader = new MappedGameRecordReader(file)) {
+            assertTrue(reader.next());
+            assertEquals(-1L, reader.getSeed());
+            assertEquals(moves.length, reader.getMoveCount());
+            assertEquals(Moves.laneToLane(6, 5, 12), reader.getMove(199));
+        }
+    }
+
+    @Test
+    public void testRejectsForeignAndTruncatedFiles() throws IOException {
+        Path foreign = dir.resolve("foreign.pgr");
+        Files.write(foreign, new byte[]{'J', 'U', 'N', 'K', 1, 2, 3});
+        assertThrows(IOException.class, () -> GameRecordReader.open(foreign).next());
+        assertThrows(IOException.class, () -> new MappedGameRecordReader(foreign));
+        assertThrows(IOException.class, () -> GameRecordWriter.append(foreign));
+
+        Path older = dir.resolve("older.pgr");
+        Files.write(older, new byte[]{'P', 'G', 'R', 1, 9, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        IOException error = assertThrows(IOException.class, () -> GameRecordReader.open(older).next());
+        assertTrue(error.getMessage().contains("version"), error.getMessage());
+        assertThrows(IOException.class, () -> GameRecordWriter.append(older), "Records would not match the header");
+
+        Path file = dir.resolve("games.pgr");
+        playAndRecord(file, 1, 1);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = dir.resolve("truncated.pgr");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> GameRecordReader.open(truncated).next());
+        assertThrows(IOException.class, () -> new MappedGameRecordReader(truncated).next());
+    }
+}
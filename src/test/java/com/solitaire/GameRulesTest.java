@@ -0,0 +1,255 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+public class GameRulesTest {
+
+    private static final GameRules ANY_CARD = new GameRules(1, GameRules.UNLIMITED, true, GameRules.Scoring.CLASSIC);
+    private static final GameRules[] VARIANTS = {
+            GameRules.CLASSIC, GameRules.DRAW_THREE, GameRules.VEGAS, GameRules.VEGAS_DRAW_THREE, ANY_CARD};
+
+    private static int drawStock(PatienceGameEngine engine) {
+        int draws = 0;
+        while (engine.getBoard().stockSize() > 0) {
+            assertEquals(MoveResult.DREW, engine.drawCard());
+            draws++;
+        }
+        return draws;
+    }
+
+    private static boolean contains(MoveBuffer moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testDrawThreeTurnsThreeCards() {
+        PatienceGameEngine engine = new PatienceGameEngine(3, GameRules.DRAW_THREE);
+        GameBoard board = engine.getBoard();
+        assertEquals(MoveResult.DREW, engine.drawCard());
+        assertEquals(3, board.wasteSize());
+        assertEquals(board.talonCard(2), engine.getLastDrawnCard().getCode(), "The third card is the one in play");
+        assertEquals(board.hash(), Zobrist.hash(board));
+
+        assertEquals(7, drawStock(engine), "24 cards take eight draws of three");
+        assertEquals(MoveResult.UNDONE, engine.undo());
+        assertEquals(21, board.wasteSize());
+        assertEquals(board.hash(), Zobrist.hash(board));
+    }
+
+    @Test
+    public void testDrawThreeTakesWhatIsLeft() {
+        PatienceGameEngine engine = new PatienceGameEngine(3, GameRules.DRAW_THREE);
+        GameBoard board = engine.getBoard();
+        board.setStock(new byte[]{(byte) board.talonCard(0), (byte) board.talonCard(1)}, 0, 2);
+        assertEquals(MoveResult.DREW, engine.drawCard());
+        assertEquals(2, board.wasteSize());
+        assertEquals(0, board.stockSize());
+        assertEquals(MoveResult.UNDONE, engine.undo());
+        assertEquals(0, board.wasteSize());
+    }
+
+    @Test
+    public void testVegasAllowsOnePass() {
+        PatienceGameEngine engine = new PatienceGameEngine(4, GameRules.VEGAS);
+        drawStock(engine);
+        MoveBuffer moves = new MoveBuffer();
+        engine.generateMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            assertNotEquals(Moves.RECYCLE, Moves.type(moves.get(i)));
+        }
+        assertEquals(MoveResult.NO_MORE_PASSES, engine.drawCard());
+        assertEquals(24, engine.getDrawPileSize(), "Nothing was turned over");
+    }
+
+    @Test
+    public void testVegasDrawThreeAllowsThreePasses() {
+        PatienceGameEngine engine = new PatienceGameEngine(4, GameRules.VEGAS_DRAW_THREE);
+        GameBoard board = engine.getBoard();
+        for (int pass = 1; pass <= 2; pass++) {
+            drawStock(engine);
+            assertEquals(MoveResult.RECYCLED, engine.drawCard());
+            assertEquals(pass, board.recycles());
+            assertEquals(board.hash(), Zobrist.hash(board));
+        }
+        drawStock(engine);
+        assertEquals(MoveResult.NO_MORE_PASSES, engine.drawCard());
+
+        // Undoing back through the second recycle gives it back
+        while (board.recycles() == 2) {
+            engine.undo();
+        }
+        assertTrue(board.canRecycle());
+        assertEquals(board.hash(), Zobrist.hash(board));
+    }
+
+    @Test
+    public void testUnlimitedRecyclesAreNotCounted() {
+        PatienceGameEngine engine = new PatienceGameEngine(4, GameRules.DRAW_THREE);
+        for (int pass = 0; pass < 200; pass++) {
+            drawStock(engine);
+            assertEquals(MoveResult.RECYCLED, engine.drawCard());
+        }
+        assertEquals(0, engine.getBoard().recycles());
+        assertTrue(engine.getBoard().canRecycle());
+    }
+
+    @Test
+    public void testVegasScoring() {
+        PatienceGameEngine engine = new PatienceGameEngine(5, GameRules.VEGAS);
+        assertEquals(-52, engine.getTotalScore());
+        engine.getLane(1).clear();
+        engine.getLane(1).add(new PlayingCard("H", "A", false));
+        engine.getLane(2).clear();
+        engine.getLane(2).add(new PlayingCard("S", "K", false));
+        engine.getLane(3).clear();
+        engine.getLane(3).add(new PlayingCard("H", "Q", false));
+        assertEquals(MoveResult.MOVED_TO_SUIT_PILE, engine.moveLaneToSuitPile(0, 0));
+        assertEquals(-47, engine.getTotalScore());
+        assertEquals(MoveResult.MOVED, engine.moveLaneToLane(2, 1, 1));
+        assertEquals(-47, engine.getTotalScore(), "Only cards on the suit piles score in Vegas");
+        engine.undo();
+        engine.undo();
+        assertEquals(-52, engine.getTotalScore());
+    }
+
+    @Test
+    public void testClassicScoringIsUnchanged() {
+        GameRules rules = GameRules.CLASSIC;
+        assertEquals(0, rules.startScore);
+        assertEquals(15, rules.points(Moves.laneToLane(0, 1, 3)));
+        assertEquals(20, rules.points(Moves.laneToPile(0, 1)));
+        assertEquals(10, rules.points(Moves.wasteToPile(1)));
+        assertEquals(0, rules.points(Moves.wasteToLane(1)));
+        assertEquals(0, rules.points(Moves.draw()));
+        assertEquals(0, rules.points(Moves.recycle()));
+    }
+
+    @Test
+    public void testAnyCardInEmptyLane() {
+        for (GameRules rules : new GameRules[]{GameRules.CLASSIC, ANY_CARD}) {
+            PatienceGameEngine engine = new PatienceGameEngine(6, rules);
+            engine.getLane(1).clear();
+            engine.getLane(2).clear();
+            engine.getLane(2).add(new PlayingCard("C", "9", true));
+            engine.getLane(2).add(new PlayingCard("H", "5", false));
+
+            MoveBuffer moves = new MoveBuffer();
+            engine.generateMoves(moves);
+            assertEquals(rules == ANY_CARD, contains(moves, Moves.laneToLane(1, 0, 1)), rules.toString());
+            MoveResult expected = rules == ANY_CARD ? MoveResult.MOVED : MoveResult.ONLY_KINGS_IN_EMPTY_LANE;
+            assertEquals(expected, engine.moveLaneToLane(1, 0, 1), rules.toString());
+        }
+    }
+
+    @Test
+    public void testAnyCardMovesFitTheBuffer() {
+        PatienceGameEngine engine = new PatienceGameEngine(6, ANY_CARD);
+        GameBoard board = engine.getBoard();
+        board.clear();
+        String[] suits = {"SH", "HS", "CD", "DC"};  // Four King..Ace runs and three empty lanes
+        for (int lane = 0; lane < suits.length; lane++) {
+            for (int rank = CardCodes.KING; rank >= CardCodes.ACE; rank--) {
+                String suit = suits[lane].substring(rank % 2, rank % 2 + 1);
+                board.pushLane(lane, new PlayingCard(suit, CardCodes.RANK_LABELS[rank], false).getCode());
+            }
+        }
+
+        MoveBuffer moves = new MoveBuffer();
+        engine.generateMoves(moves);
+        assertEquals(4 * 3 * 12 + 4, moves.size(), "Every split of every run to every empty lane, and the Aces");
+        assertTrue(engine.hasPossibleMoves());
+        assertFalse(engine.isLost());
+        assertNotNull(new HintService().hint(engine));
+    }
+
+    @Test
+    public void testAnyCardRulesFindNoStuckCards() {
+        GameBoard board = new GameBoard();
+        board.setRules(ANY_CARD);
+        for (String label : new String[]{"3H", "6S", "6C"}) {
+            board.pushLane(0, new PlayingCard(label.substring(1), label.substring(0, 1), true).getCode());
+        }
+        board.pushLane(0, new PlayingCard("H", "5", false).getCode());
+        assertEquals(0, DeadEndAnalyzer.findStuckCard(board), "The 5H can move to an empty lane");
+        board.setRules(GameRules.CLASSIC);
+        assertNotEquals(0, DeadEndAnalyzer.findStuckCard(board));
+    }
+
+    @Test
+    public void testRulesCodeRoundTrip() {
+        for (GameRules rules : VARIANTS) {
+            GameRules decoded = GameRules.fromCode(rules.code());
+            assertEquals(rules.code(), decoded.code());
+            assertEquals(rules.toString(), decoded.toString());
+        }
+        assertSame(GameRules.VEGAS_DRAW_THREE, GameRules.fromCode(GameRules.VEGAS_DRAW_THREE.code()));
+        assertSame(GameRules.DRAW_THREE, GameRules.forName("DRAW3"));
+        assertThrows(IllegalArgumentException.class, () -> GameRules.forName("spider"));
+        assertThrows(IllegalArgumentException.class, () -> new GameRules(0, 0, false, GameRules.Scoring.CLASSIC));
+    }
+
+    @Test
+    public void testSnapshotKeepsRulesAndPasses() {
+        PatienceGameEngine engine = new PatienceGameEngine(8, GameRules.VEGAS_DRAW_THREE);
+        drawStock(engine);
+        engine.drawCard();
+        engine.drawCard();
+
+        PatienceGameEngine restored = new PatienceGameEngine(engine.snapshot());
+        assertSame(GameRules.VEGAS_DRAW_THREE, restored.getRules());
+        assertArrayEquals(engine.getBoard().state, restored.getBoard().state);
+        assertEquals(engine.getBoard().hash(), restored.getBoard().hash());
+        assertEquals(engine.getTotalScore(), restored.getTotalScore());
+    }
+
+    @Test
+    public void testRandomPlayUnderEveryVariantUndoesCleanly() {
+        Random random = new Random(23);
+        MoveBuffer moves = new MoveBuffer();
+        for (GameRules rules : VARIANTS) {
+            for (int game = 0; game < 20; game++) {
+                PatienceGameEngine engine = new PatienceGameEngine(game, rules);
+                byte[] start = engine.getBoard().state.clone();
+                for (int step = 0; step < 150; step++) {
+                    engine.generateMoves(moves);
+                    if (moves.isEmpty()) {
+                        break;
+                    }
+                    int move = moves.get(random.nextInt(moves.size()));
+                    assertTrue(engine.applyMove(move).isSuccess(), rules + " " + Moves.toCommand(move));
+                    assertEquals(Zobrist.hash(engine.getBoard()), engine.getBoard().hash());
+                }
+                while (engine.undo() == MoveResult.UNDONE) {
+                    assertEquals(Zobrist.hash(engine.getBoard()), engine.getBoard().hash());
+                }
+                assertArrayEquals(start, engine.getBoard().state, rules + " deal " + game);
+                assertEquals(rules.startScore, engine.getTotalScore());
+            }
+        }
+    }
+
+    @Test
+    public void testSolverPlaysDrawThree() {
+        Solver solver = new Solver(18, 200_000);
+        int solved = 0;
+        for (long seed = 0; seed < 10 && solved < 2; seed++) {
+            PatienceGameEngine engine = new PatienceGameEngine(seed, GameRules.DRAW_THREE);
+            SolveResult result = solver.solve(engine.getBoard());
+            if (result.isSolved()) {
+                solved++;
+                for (int move : result.getMoves()) {
+                    assertTrue(engine.applyMove(move).isSuccess());
+                }
+                assertTrue(engine.isWon(), "Deal " + seed);
+            }
+        }
+        assertTrue(solved > 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.solitaire;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Drives a GameServer on localhost with many concurrent clients and reports throughput and latency.
+// A program rather than a test, so Surefire leaves it alone; GameServerTest covers correctness.
+// Starts its own server unless a port is given.
+// Run with: mvn test-compile && java -cp target/classes:target/test-classes com.solitaire.GameServerLoadDriver
+//           [clients] [commands per client] [port]
+public class GameServerLoadDriver {
+    private static final String[] COMMANDS = {"D", "1H", "P1", "12", "U", "STATE"};
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int commands = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        SessionManager sessions = null;
+        GameServer server = null;
+        int port;
+        if (args.length > 2) {
+            port = Integer.parseInt(args[2]);
+        } else {
+            sessions = new SessionManager(Runtime.getRuntime().availableProcessors(), 600_000);
+            server = new GameServer(sessions, 0);
+            server.start();
+            port = server.getPort();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            long seed = c;
+            results.add(pool.submit(() -> play(port, seed, commands)));
+        }
+        long[] latencies = new long[clients * commands];
+        int n = 0;
+        for (Future<long[]> result : results) {
+            long[] clientLatencies = result.get();
+            System.arraycopy(clientLatencies, 0, latencies, n, clientLatencies.length);
+            n += clientLatencies.length;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        Arrays.sort(latencies, 0, n);
+        System.out.printf("%d clients, %d requests in %.2f s: %.0f requests/s%n", clients, n, seconds, n / seconds);
+        System.out.printf("latency us: p50 %d, p99 %d, p99.9 %d, max %d%n",
+                latencies[n / 2] / 1000, latencies[(int) (n * 0.99)] / 1000, latencies[(int) (n * 0.999)] / 1000, latencies[n - 1] / 1000);
+
+        if (server != null) {
+            server.close();
+            sessions.close();
+        }
+    }
+
+    // One client: open a session, send 'commands' requests, return each request's latency in ns
+    private static long[] play(int port, long seed, int commands) throws Exception {
+        long[] latencies = new long[commands];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("NEW " + seed);
+            String id = in.readLine().split(" ")[1];
+            for (int i = 0; i < commands; i++) {
+                String command = COMMANDS[i % COMMANDS.length];
+                long sent = System.nanoTime();
+                out.println(command.equals("STATE") ? "STATE " + id : "CMD " + id + " " + command);
+                String reply = in.readLine();
+                latencies[i] = System.nanoTime() - sent;
+                if (reply == null || !reply.startsWith("OK")) {
+                    throw new IllegalStateException("Unexpected reply: " + reply);
+                }
+            }
+            out.println("CLOSE " + id);
+            in.readLine();
+            out.println("BYE");
+        }
+        return latencies;
+    }
+}
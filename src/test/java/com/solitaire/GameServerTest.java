@@ -0,0 +1,90 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class GameServerTest {
+
+    private static final String[] SCRIPT = {"D", "D", "1H", "P1", "D", "U", "562", "D", "2C", "D", "A"};
+
+    // The replies a lone engine gives to the script, in the server's CMD reply format
+    private static List<String> expectedReplies(long seed, GameRules rules) {
+        PatienceGameEngine engine = new PatienceGameEngine(seed, rules);
+        List<String> replies = new ArrayList<>();
+        for (String command : SCRIPT) {
+            MoveResult result = engine.handleUserCommand(command);
+            replies.add("OK " + result + " " + engine.getTotalScore() + " " + engine.getMoveCounter()
+                    + (engine.isWon() ? " WON" : engine.isLost() ? " LOST" : ""));
+        }
+        return replies;
+    }
+
+    // One client: open a game, play the script and return every CMD reply
+    private static List<String> play(int port, long seed, GameRules rules) throws Exception {
+        List<String> replies = new ArrayList<>();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("NEW " + seed + " " + rules);
+            String[] opened = in.readLine().split(" ");
+            assertEquals("OK", opened[0]);
+            assertEquals(Long.toString(seed), opened[2]);
+            for (String command : SCRIPT) {
+                out.println("CMD " + opened[1] + " " + command);
+                replies.add(in.readLine());
+            }
+            out.println("CLOSE " + opened[1]);
+            assertEquals("OK", in.readLine());
+            out.println("BYE");
+        }
+        return replies;
+    }
+
+    @Test
+    public void testConcurrentClientsGetTheirOwnGames() throws Exception {
+        GameRules[] variants = {GameRules.CLASSIC, GameRules.DRAW_THREE, GameRules.VEGAS};
+        int clients = 24;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try (SessionManager manager = new SessionManager(4, 60_000);
+             GameServer server = new GameServer(manager, 0)) {
+            server.start();
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                long seed = 1000 + c;
+                GameRules rules = variants[c % variants.length];
+                results.add(pool.submit(() -> play(server.getPort(), seed, rules)));
+            }
+            for (int c = 0; c < clients; c++) {
+                assertEquals(expectedReplies(1000 + c, variants[c % variants.length]),
+                        results.get(c).get(10, TimeUnit.SECONDS), "Client " + c);
+            }
+            assertEquals(0, manager.size(), "Every client closed its game");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBadRequestsAreAnsweredWithErrors() throws Exception {
+        try (SessionManager manager = new SessionManager(1, 60_000);
+             GameServer server = new GameServer(manager, 0)) {
+            assertEquals("ERR bad number", server.handle("NEW seven"));
+            assertTrue(server.handle("NEW 1 spider").startsWith("ERR "));
+            assertEquals("ERR usage: CMD <session> <command>", server.handle("CMD 1"));
+            assertEquals("ERR unknown session", server.handle("STATE 12345"));
+            assertEquals("ERR unknown session", server.handle("CLOSE 12345"));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+public class GameSnapshotTest {
+
+    private static void playRandomly(PatienceGameEngine engine, Random random, int steps) {
+        MoveBuffer buffer = new MoveBuffer();
+        for (int step = 0; step < steps; step++) {
+            engine.generateMoves(buffer);
+            if (buffer.isEmpty()) {
+                return;
+            }
+            engine.applyMove(buffer.get(random.nextInt(buffer.size())));
+        }
+    }
+
+    private static void assertSameGame(PatienceGameEngine expected, PatienceGameEngine actual) {
+        assertArrayEquals(expected.getBoard().state, actual.getBoard().state, "Board");
+        assertEquals(expected.getSeed(), actual.getSeed(), "Seed");
+        assertEquals(expected.getTotalScore(), actual.getTotalScore(), "Score");
+        assertEquals(expected.getMoveCounter(), actual.getMoveCounter(), "Move counter");
+        assertEquals(String.valueOf(expected.getLastCard()), String.valueOf(actual.getLastCard()), "Last card");
+    }
+
+    @Test
+    public void testSnapshotFitsInOneBuffer() {
+        assertTrue(GameSnapshot.SIZE <= 128);
+        assertEquals(GameSnapshot.SIZE, new PatienceGameEngine(1).snapshot().length);
+    }
+
+    @Test
+    public void testRoundTripAfterRandomPlay() {
+        Random random = new Random(11);
+        for (int game = 0; game < 200; game++) {
+            PatienceGameEngine engine = new PatienceGameEngine(game);
+            playRandomly(engine, random, random.nextInt(120));
+
+            PatienceGameEngine restored = new PatienceGameEngine(engine.snapshot());
+            assertSameGame(engine, restored);
+            assertArrayEquals(engine.snapshot(), restored.snapshot(), "Snapshot of a restored game");
+        }
+    }
+
+    @Test
+    public void testRestoredGamePlaysOnIdentically() {
+        Random random = new Random(5);
+        for (int game = 0; game < 50; game++) {
+            PatienceGameEngine original = new PatienceGameEngine(1000 + game);
+            playRandomly(original, random, 40);
+            PatienceGameEngine restored = new PatienceGameEngine(original.snapshot());
+
+            long playSeed = random.nextLong();
+            playRandomly(original, new Random(playSeed), 80);
+            playRandomly(restored, new Random(playSeed), 80);
+            assertSameGame(original, restored);
+        }
+    }
+
+    @Test
+    public void testSnapshotKeepsOscillationHistory() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        engine.getLane(1).clear();
+        engine.getLane(2).clear();
+        engine.getLane(3).clear();
+        engine.getLane(1).add(new PlayingCard("D", "K", true));
+        engine.getLane(1).add(new PlayingCard("S", "9", false));
+        engine.getLane(1).add(new PlayingCard("H", "8", false));
+        engine.getLane(2).add(new PlayingCard("C", "9", false));
+        assertEquals(MoveResult.DREW, engine.drawCard());
+        assertEquals(MoveResult.MOVED, engine.handleUserCommand("121"));
+
+        PatienceGameEngine restored = new PatienceGameEngine(engine.snapshot());
+        assertEquals(MoveResult.OSCILLATION, engine.handleUserCommand("211"), "Moving the 8H back repeats the position");
+        assertEquals(MoveResult.OSCILLATION, restored.handleUserCommand("211"));
+        assertSameGame(engine, restored);
+    }
+
+    @Test
+    public void testRestoreStartsWithEmptyUndoHistory() {
+        PatienceGameEngine engine = new PatienceGameEngine(3);
+        engine.drawCard();
+        PatienceGameEngine restored = new PatienceGameEngine(engine.snapshot());
+        assertEquals(MoveResult.NOTHING_TO_UNDO, restored.undo());
+        assertEquals(1, restored.getBoard().wasteSize());
+    }
+
+    @Test
+    public void testRestoreIntoExistingEngineAtOffset() {
+        PatienceGameEngine engine = new PatienceGameEngine(8);
+        playRandomly(engine, new Random(8), 30);
+        byte[] buffer = new byte[GameSnapshot.SIZE + 10];
+        engine.writeSnapshot(buffer, 10);
+
+        PatienceGameEngine other = new PatienceGameEngine(9);
+        other.restoreSnapshot(buffer, 10);
+        assertSameGame(engine, other);
+    }
+
+    @Test
+    public void testRejectsCorruptSnapshots() {
+        byte[] snapshot = new PatienceGameEngine(4).snapshot();
+        byte[] badVersion = snapshot.clone();
+        badVersion[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> new PatienceGameEngine(badVersion));
+
+        byte[] badLane = snapshot.clone();
+        badLane[53] = 60;
+        assertThrows(IllegalArgumentException.class, () -> new PatienceGameEngine(badLane));
+    }
+}
@@ -0,0 +1,122 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HintServiceTest {
+
+    private static int card(String label) {
+        return new PlayingCard(label.substring(label.length() - 1), label.substring(0, label.length() - 1), false).getCode();
+    }
+
+    @Test
+    public void testHintsUncoverFaceDownCards() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = engine.getBoard();
+        board.clear();
+        board.pushLane(0, card("9H"));
+        board.pushLane(1, card("4C") | CardCodes.HIDDEN_BIT);
+        board.pushLane(1, card("10S"));
+        board.pushLane(2, card("7D") | CardCodes.HIDDEN_BIT);
+        board.pushLane(2, card("8C"));
+        board.pushLane(3, card("JD"));
+
+        // 8C onto 9H turns up the 7D, moving the 10S onto the JD turns up the 4C: either beats 9H onto 10S
+        String hint = new HintService().hint(engine);
+        assertTrue(hint.equals("311") || hint.equals("241"), hint);
+        assertTrue(engine.handleCommand(hint).isSuccess());
+    }
+
+    @Test
+    public void testHintsPlayToSuitPile() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = engine.getBoard();
+        board.clear();
+        board.pushLane(0, card("KS") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("AH"));
+        assertEquals("1H", new HintService().hint(engine));
+    }
+
+    @Test
+    public void testHintsMoveToTheSameDepthOfAnotherLane() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        GameBoard board = engine.getBoard();
+        board.clear();
+        board.pushLane(0, card("2S") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("8H"));
+        board.pushLane(0, card("7C"));
+        board.pushLane(1, card("3S") | CardCodes.HIDDEN_BIT);
+        board.pushLane(1, card("8D"));
+
+        // The 7C stays at depth 2, but the position is new
+        assertEquals("121", new HintService().hint(engine));
+    }
+
+    @Test
+    public void testNoHintWithoutMoves() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        engine.getBoard().clear();
+        assertNull(new HintService().hint(engine));
+    }
+
+    @Test
+    public void testRepeatedHintsComeFromCache() {
+        HintService hints = new HintService();
+        PatienceGameEngine engine = new PatienceGameEngine(42);
+        String first = hints.hint(engine);
+        assertEquals(0, hints.getCacheHits());
+        assertEquals(1, hints.getCacheMisses());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first, hints.hint(engine));
+        }
+        assertEquals(10, hints.getCacheHits());
+
+        // The same deal in another game is the same position
+        assertEquals(first, hints.hint(new PatienceGameEngine(42)));
+        assertEquals(11, hints.getCacheHits());
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() {
+        HintService hints = new HintService(2, 2);
+        GameBoard a = new PatienceGameEngine(1).getBoard();
+        GameBoard b = new PatienceGameEngine(2).getBoard();
+        GameBoard c = new PatienceGameEngine(3).getBoard();
+        hints.bestMove(a);
+        hints.bestMove(b);
+        hints.bestMove(a);  // b is now the oldest
+        hints.bestMove(c);
+        assertEquals(1, hints.getCacheHits());
+
+        hints.bestMove(a);
+        assertEquals(2, hints.getCacheHits(), "a was used recently and stays cached");
+        hints.bestMove(b);
+        assertEquals(2, hints.getCacheHits(), "b was evicted");
+    }
+
+    @Test
+    public void testFollowingHintsNeverBreaksTheRules() {
+        HintService hints = new HintService();
+        for (int game = 0; game < 20; game++) {
+            PatienceGameEngine engine = new PatienceGameEngine(game);
+            for (int step = 0; step < 150 && !engine.isWon(); step++) {
+                String hint = hints.hint(engine);
+                if (hint == null) {
+                    break;
+                }
+                MoveResult result = engine.handleCommand(hint);
+                assertTrue(result.isSuccess() || result == MoveResult.OSCILLATION, hint + " gave " + result);
+                if (!result.isSuccess()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsBadSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new HintService(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new HintService(3, 0));
+    }
+}
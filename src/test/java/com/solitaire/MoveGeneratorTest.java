@@ -0,0 +1,95 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class MoveGeneratorTest {
+
+    private static int card(String label) {
+        return new PlayingCard(label.substring(label.length() - 1), label.substring(0, label.length() - 1), false).getCode();
+    }
+
+    private static Set<String> commands(GameBoard board) {
+        MoveBuffer buffer = new MoveBuffer();
+        MoveGenerator.generate(board, buffer);
+        Set<String> commands = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            commands.add(Moves.toCommand(buffer.get(i)));
+        }
+        return commands;
+    }
+
+    @Test
+    public void testMultiCardRunMoves() {
+        GameBoard board = new GameBoard();
+        board.pushLane(0, card("2C") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("9S"));
+        board.pushLane(0, card("8H"));
+        board.pushLane(0, card("7C"));
+        board.pushLane(1, card("10D"));
+        board.pushLane(2, card("9D"));
+
+        assertEquals(3, board.runLength(0));
+        Set<String> commands = commands(board);
+        assertTrue(commands.contains("123"), "The whole 9S..7C run fits on 10D");
+        assertFalse(commands.contains("132"), "8H cannot go on 9D, both are red");
+    }
+
+    @Test
+    public void testFoundationDrawAndEmptyLaneMoves() {
+        GameBoard board = new GameBoard();
+        board.pushLane(0, card("AS"));
+        board.pushLane(1, card("KH") | CardCodes.HIDDEN_BIT);
+        board.pushLane(1, card("KD"));
+        byte[] stock = {(byte) card("KC")};
+        board.setStock(stock, 0, 1);
+
+        Set<String> commands = commands(board);
+        assertTrue(commands.contains("1S"), "Ace goes to its own suit pile");
+        assertTrue(commands.contains("D"), "Drawing is available while the draw pile has cards");
+        assertFalse(commands.contains("211"), "Lane 1 is not empty");
+
+        board.popLane(0);
+        commands = commands(board);
+        assertTrue(commands.contains("211"), "A King may move to the empty lane");
+
+        board.draw();
+        commands = commands(board);
+        assertTrue(commands.contains("P1"), "The drawn King may move to the empty lane");
+        assertTrue(commands.contains("D"), "Recycling is offered once the draw pile is empty");
+    }
+
+    @Test
+    public void testGeneratedMovesAreLegalAndRunsStayCurrent() {
+        Random random = new Random(42);
+        MoveBuffer buffer = new MoveBuffer();
+        for (int game = 0; game < 20; game++) {
+            PatienceGameEngine engine = new PatienceGameEngine();
+            for (int step = 0; step < 200; step++) {
+                engine.generateMoves(buffer);
+                if (buffer.isEmpty()) {
+                    break;
+                }
+                int move = buffer.get(random.nextInt(buffer.size()));
+                MoveResult result = engine.applyMove(move);
+                assertTrue(result.isSuccess(), Moves.toCommand(move) + " was generated but rejected with " + result);
+                assertRunsMatchScan(engine.getBoard());
+            }
+        }
+    }
+
+    private static void assertRunsMatchScan(GameBoard board) {
+        for (int lane = 0; lane < GameBoard.LANES; lane++) {
+            int size = board.laneSize(lane);
+            int run = 0;
+            while (run < size && !CardCodes.isHidden(board.cardAt(lane, size - 1 - run))
+                    && (run == 0 || CardCodes.canStack(board.cardAt(lane, size - run), board.cardAt(lane, size - 1 - run)))) {
+                run++;
+            }
+            assertEquals(run, board.runLength(lane), "Run length of lane " + (lane + 1));
+        }
+    }
+}
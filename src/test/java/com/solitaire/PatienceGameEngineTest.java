@@ -2,6 +2,8 @@ package com.solitaire;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.List;
 
 public class PatienceGameEngineTest {
@@ -108,6 +110,22 @@ public class PatienceGameEngineTest {
         assertFalse(game.getLane(1).get(0).isHidden(), "Queen of Hearts should be visible after the King is moved");
     }
 
+    @Test
+    public void testOnlyARunMovesTogether() {
+        game.setupGame(12);
+        game.getLane(1).clear();
+        game.getLane(1).add(new PlayingCard("C", "8", true));
+        game.getLane(1).add(new PlayingCard("H", "7", false));
+        game.getLane(1).add(new PlayingCard("S", "6", false));
+        game.getLane(2).clear();
+        game.getLane(2).add(new PlayingCard("D", "9", false));
+
+        assertEquals(MoveResult.INVALID_STACK, game.moveLaneToLane(0, 1, 3), "The 8C is face down");
+        game.getLane(1).set(1, new PlayingCard("H", "8", false));
+        assertEquals(MoveResult.INVALID_STACK, game.moveLaneToLane(0, 1, 2), "6S on 8H is not a run");
+        assertEquals(3, game.getLaneSize(1));
+    }
+
     @Test
     public void testDrawUntilEmpty() {
         game.setupGame();  // Ensure the game is set up
@@ -229,4 +247,50 @@ public class PatienceGameEngineTest {
     }
 
 
+
+    // HEADLESS MODE
+
+
+
+    @Test
+    public void testCommandsReturnResultsWithoutPrinting() {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            assertEquals(MoveResult.INVALID_COMMAND, game.handleUserCommand("INVALID"));
+            assertEquals(MoveResult.DREW, game.handleUserCommand("d"));
+            assertEquals(MoveResult.INVALID_MOVE_COMMAND, game.handleUserCommand("9X"));
+            assertEquals(MoveResult.QUIT, game.handleUserCommand("Q"), "Quitting must be left to the caller");
+            game.isValidSequence(new PlayingCard("H", "5", false), new PlayingCard("C", "6", false));
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertEquals("", captured.toString(), "The engine should not write to the console");
+    }
+
+    @Test
+    public void testEmptySuitPileRejectedWithResult() {
+        game.getLane(1).add(new PlayingCard("D", "5", false));
+        assertEquals(MoveResult.ONLY_ACES_ON_EMPTY_SUIT_PILE, game.handleUserCommand("1D"));
+        assertEquals(MoveResult.ONLY_ACES_ON_EMPTY_SUIT_PILE, game.moveLaneToSuitPile(0, 1));
+    }
+
+    @Test
+    public void testRendererReportsMoves() {
+        game.getLane(1).add(new PlayingCard("H", "A", false));
+        MoveResult result = game.handleUserCommand("1H");
+
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        ConsoleRenderer renderer = new ConsoleRenderer(new PrintStream(captured));
+        renderer.report(result, game);
+        renderer.render(game);
+
+        String output = captured.toString();
+        assertTrue(output.startsWith("Moved AH to Suit Pile H"), output);
+        assertTrue(output.contains("Hearts  : [AH]"), output);
+        assertTrue(output.contains("Score: 20 || Moves: 1"), output);
+    }
+
+
 }
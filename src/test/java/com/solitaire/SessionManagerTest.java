@@ -0,0 +1,109 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class SessionManagerTest {
+
+    private static final String[] SCRIPT = {"D", "D", "1H", "P1", "D", "U", "562", "D", "2C", "D"};
+
+    // The reply a lone engine gives to the last line of the script
+    private static String expectedFinalReply(long seed) {
+        PatienceGameEngine engine = new PatienceGameEngine(seed);
+        MoveResult result = null;
+        for (String command : SCRIPT) {
+            result = engine.handleUserCommand(command);
+        }
+        return "OK " + result + " " + engine.getTotalScore() + " " + engine.getMoveCounter()
+                + (engine.isWon() ? " WON" : engine.isLost() ? " LOST" : "");
+    }
+
+    @Test
+    public void testConcurrentSessionsStayIndependent() throws Exception {
+        try (SessionManager manager = new SessionManager(4, 60_000)) {
+            int sessions = 500;
+            long[] ids = new long[sessions];
+            for (int i = 0; i < sessions; i++) {
+                ids[i] = manager.open(i);
+            }
+
+            // Commands for all sessions are interleaved; each session must still see its own in order
+            List<CompletableFuture<String>> last = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                last.add(null);
+            }
+            for (String command : SCRIPT) {
+                for (int i = 0; i < sessions; i++) {
+                    last.set(i, manager.submit(ids[i], command));
+                }
+            }
+            for (int i = 0; i < sessions; i++) {
+                assertEquals(expectedFinalReply(i), last.get(i).get(5, TimeUnit.SECONDS), "Session for seed " + i);
+            }
+            assertEquals(sessions, manager.size());
+        }
+    }
+
+    @Test
+    public void testIdleSessionsAreEvicted() throws Exception {
+        try (SessionManager manager = new SessionManager(1, 60_000)) {
+            long quiet = manager.open(1);
+            long busy = manager.open(2);
+            manager.submit(busy, "D").get(5, TimeUnit.SECONDS);
+
+            assertEquals(0, manager.evictIdle(System.nanoTime()), "Nothing is idle yet");
+            // The drain that answered the busy session may still be finishing, so sweep until both are gone
+            int evicted = 0;
+            for (int attempt = 0; attempt < 100 && evicted < 2; attempt++) {
+                evicted += manager.evictIdle(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+                Thread.sleep(10);
+            }
+            assertEquals(2, evicted);
+            assertNull(manager.get(quiet));
+            assertTrue(manager.submit(busy, "D").get().startsWith("ERR unknown session"));
+        }
+    }
+
+    @Test
+    public void testLineProtocolOverSocket() throws Exception {
+        try (SessionManager manager = new SessionManager(2, 60_000);
+             GameServer server = new GameServer(manager, 0)) {
+            server.start();
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+                out.println("NEW 42");
+                String[] opened = in.readLine().split(" ");
+                assertEquals("OK", opened[0]);
+                assertEquals("42", opened[2]);
+                String id = opened[1];
+
+                out.println("CMD " + id + " d");
+                assertEquals("OK DREW 0 1", in.readLine());
+
+                out.println("STATE " + id);
+                String state = in.readLine();
+                assertTrue(state.startsWith("OK "), state);
+                assertTrue(state.endsWith(" 23"), "23 cards left in the draw pile: " + state);
+
+                out.println("CMD 999 D");
+                assertTrue(in.readLine().startsWith("ERR"));
+                out.println("CLOSE " + id);
+                assertEquals("OK", in.readLine());
+                out.println("FLY");
+                assertEquals("ERR unknown request", in.readLine());
+                out.println("BYE");
+            }
+        }
+    }
+}
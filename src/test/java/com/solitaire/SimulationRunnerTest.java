@@ -0,0 +1,87 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SimulationRunnerTest {
+
+    @Test
+    public void testTotalsDoNotDependOnThreadCount() throws InterruptedException {
+        SimulationStats single = new SimulationRunner(1, GreedyPolicy::new).run(100, 300, stats -> { }, 1000);
+        SimulationStats parallel = new SimulationRunner(3, GreedyPolicy::new).run(100, 300, stats -> { }, 1000);
+
+        assertEquals(300, single.getGames());
+        assertEquals(single.getWins(), parallel.getWins());
+        assertEquals(single.getAverageScore(), parallel.getAverageScore());
+        assertArrayEquals(single.getMoveHistogram(), parallel.getMoveHistogram());
+    }
+
+    @Test
+    public void testRandomPolicyIsReproducible() throws InterruptedException {
+        SimulationStats first = new SimulationRunner(2, RandomPolicy::new, 200).run(7, 50, stats -> { }, 1000);
+        SimulationStats second = new SimulationRunner(1, RandomPolicy::new, 200).run(7, 50, stats -> { }, 1000);
+        assertEquals(first.toString(), second.toString());
+        assertTrue(first.getAverageMoves() <= 200, "Games stop at the move cap");
+    }
+
+    @Test
+    public void testPlayOutStopsWhenPolicyResigns() {
+        AtomicInteger calls = new AtomicInteger();
+        PlayPolicy resignAtOnce = (engine, moves) -> {
+            calls.incrementAndGet();
+            return PlayPolicy.RESIGN;
+        };
+        PatienceGameEngine engine = new PatienceGameEngine(1L);
+        new SimulationRunner(1, () -> resignAtOnce).playOut(engine, resignAtOnce, new MoveBuffer());
+        assertEquals(1, calls.get());
+        assertEquals(0, engine.getMoveCounter());
+    }
+
+    @Test
+    public void testSetupGameStartsFreshGame() {
+        PatienceGameEngine engine = new PatienceGameEngine(3L);
+        new SimulationRunner(1, GreedyPolicy::new).playOut(engine, new GreedyPolicy(), new MoveBuffer());
+        assertTrue(engine.getMoveCounter() > 0);
+
+        engine.setupGame(4L);
+        assertEquals(0, engine.getTotalScore());
+        assertEquals(0, engine.getMoveCounter());
+        assertEquals(0, engine.getUndoDepth());
+    }
+
+    @Test
+    public void testStatsMerge() {
+        SimulationStats first = new SimulationStats();
+        first.record(true, 500, 95);
+        SimulationStats second = new SimulationStats();
+        second.record(false, 100, 600);
+        first.merge(second);
+
+        assertEquals(2, first.getGames());
+        assertEquals(0.5, first.getWinRate());
+        assertEquals(300.0, first.getAverageScore());
+        assertEquals(500, first.getMaxScore());
+        assertEquals(1, first.getMoveHistogram()[9]);
+        assertEquals(1, first.getMoveHistogram()[SimulationStats.MOVE_BUCKETS - 1]);
+    }
+
+    @Test
+    public void testMaxScoreOfLosingVegasGames() throws InterruptedException {
+        SimulationStats empty = new SimulationStats();
+        assertEquals(Integer.MIN_VALUE, empty.getMaxScore());
+        assertEquals("0 games", empty.toString());
+
+        // Ten moves put at most ten cards on the suit piles, 50 back on a stake of 52
+        SimulationStats stats = new SimulationRunner(2, GreedyPolicy::new, 10, GameRules.VEGAS).run(1, 40, s -> { }, 1000);
+        assertEquals(40, stats.getGames());
+        assertTrue(stats.getMaxScore() < 0, stats.toString());
+        assertTrue(stats.getMaxScore() >= stats.getAverageScore());
+
+        SimulationStats merged = new SimulationStats();
+        merged.merge(empty);
+        merged.record(false, -52, 12);
+        merged.merge(new SimulationStats());
+        assertEquals(-52, merged.getMaxScore());
+    }
+}
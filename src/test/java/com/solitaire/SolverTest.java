@@ -0,0 +1,216 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverTest {
+
+    private static int card(String label) {
+        return new PlayingCard(label.substring(label.length() - 1), label.substring(0, label.length() - 1), false).getCode();
+    }
+
+    // Build piles for every suit up to the given rank (0 leaves the pile empty)
+    private static void fillPile(GameBoard board, String suit, int rank) {
+        int pile = CardCodes.parseSuit(suit);
+        for (int r = CardCodes.ACE; r <= rank; r++) {
+            board.pushPile(pile, CardCodes.encode(pile, r, false));
+        }
+    }
+
+    private static void assertReplaysToWin(GameBoard start, SolveResult result) {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        engine.getBoard().copyFrom(start);
+        for (int move : result.getMoves()) {
+            assertTrue(engine.applyMove(move).isSuccess(), Moves.toCommand(move) + " from the solution was rejected");
+        }
+        assertTrue(engine.getBoard().isWon(), "The solution should win the game");
+    }
+
+    private static GameBoard nearlyWonBoard() {
+        GameBoard board = new GameBoard();
+        fillPile(board, "H", CardCodes.KING);
+        fillPile(board, "D", CardCodes.KING);
+        fillPile(board, "C", 11);
+        fillPile(board, "S", 10);
+        board.pushLane(0, card("QS") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("JS"));
+        board.pushLane(1, card("KC") | CardCodes.HIDDEN_BIT);
+        board.pushLane(1, card("QC"));
+        byte[] stock = {(byte) card("KS")};
+        board.setStock(stock, 0, 1);
+        return board;
+    }
+
+    private static GameBoard stuckBoard() {
+        GameBoard board = new GameBoard();
+        fillPile(board, "H", CardCodes.KING);
+        fillPile(board, "D", CardCodes.KING);
+        fillPile(board, "C", CardCodes.KING);
+        fillPile(board, "S", 9);
+        board.pushLane(0, card("10S") | CardCodes.HIDDEN_BIT);
+        board.pushLane(0, card("JS"));
+        board.pushLane(1, card("KS") | CardCodes.HIDDEN_BIT);
+        board.pushLane(1, card("QS"));
+        return board;
+    }
+
+    // Bottom to top, "(h)" marks a face-down card
+    private static void deal(GameBoard board, int lane, String... labels) {
+        for (String label : labels) {
+            boolean hidden = label.endsWith("(h)");
+            int code = card(hidden ? label.substring(0, label.length() - 3) : label);
+            board.pushLane(lane, hidden ? code | CardCodes.HIDDEN_BIT : code);
+        }
+    }
+
+    // Only won by splitting a run so that the card left behind can take another card
+    private static GameBoard splitNeededBoard() {
+        GameBoard board = new GameBoard();
+        fillPile(board, "H", 12);
+        fillPile(board, "D", 9);
+        fillPile(board, "C", 6);
+        fillPile(board, "S", 6);
+        deal(board, 0, "10D");
+        deal(board, 1, "7S(h)", "8C");
+        deal(board, 3, "KC(h)", "10C(h)", "9S(h)", "9C(h)", "JC");
+        deal(board, 4, "8S(h)", "KH(h)", "JS(h)", "QS");
+        deal(board, 5, "QC(h)", "10S");
+        deal(board, 6, "JD(h)", "7C(h)", "KD(h)", "KS");
+        byte[] stock = {(byte) card("QD")};
+        board.setStock(stock, 0, 1);
+        return board;
+    }
+
+    @Test
+    public void testSolvesNearlyWonPosition() {
+        GameBoard board = nearlyWonBoard();
+        SolveResult result = new Solver(16, 100_000).solve(board);
+        assertEquals(SolveResult.Status.SOLVED, result.getStatus(), result.toString());
+        assertReplaysToWin(board, result);
+        assertFalse(board.isWon(), "The starting board is left untouched");
+    }
+
+    @Test
+    public void testDetectsStuckPosition() {
+        SolveResult result = new Solver(16, 100_000).solve(stuckBoard());
+        assertEquals(SolveResult.Status.UNSOLVABLE, result.getStatus(), result.toString());
+        assertEquals(0, result.getMoves().length);
+    }
+
+    @Test
+    public void testRunSplitsAreSearchedBeforeGivingUp() {
+        GameBoard board = splitNeededBoard();
+        SolveResult result = new Solver(16, 200_000).solve(board);
+        assertEquals(SolveResult.Status.SOLVED, result.getStatus(), "Exhausting the pruned search is not a proof");
+        assertReplaysToWin(board, result);
+
+        ParallelSolver parallel = new ParallelSolver(2, 16, 200_000, 2);
+        try {
+            SolveResult parallelResult = parallel.solve(board);
+            assertEquals(SolveResult.Status.SOLVED, parallelResult.getStatus(), parallelResult.toString());
+            assertReplaysToWin(board, parallelResult);
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    // The only first move puts the 7C at the same depth of another lane; it must not be taken for the root
+    @Test
+    public void testMoveToTheSameDepthOfAnotherLaneIsSearched() {
+        GameBoard board = new GameBoard();
+        fillPile(board, "H", 7);
+        fillPile(board, "D", 7);
+        fillPile(board, "C", 5);
+        fillPile(board, "S", CardCodes.KING);
+        deal(board, 0, "6C(h)", "8H", "7C");
+        deal(board, 1, "8C(h)", "8D");
+        deal(board, 2, "KC(h)", "KD(h)", "KH(h)", "QC(h)", "QD(h)", "QH(h)", "JC(h)", "JD(h)", "JH(h)",
+                "10C(h)", "10D(h)", "10H(h)", "9C(h)", "9D(h)", "9H");
+
+        SolveResult result = new Solver(16, 100_000).solve(board);
+        assertEquals(SolveResult.Status.SOLVED, result.getStatus(), result.toString());
+        assertReplaysToWin(board, result);
+
+        ParallelSolver parallel = new ParallelSolver(2, 16, 100_000, 2);
+        try {
+            SolveResult parallelResult = parallel.solve(board);
+            assertEquals(SolveResult.Status.SOLVED, parallelResult.getStatus(), parallelResult.toString());
+            assertReplaysToWin(board, parallelResult);
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    public void testCompleteOrderingKeepsEverySplit() {
+        GameBoard board = new GameBoard();
+        deal(board, 0, "5C(h)", "9D", "8C");
+        deal(board, 1, "9H");
+        MoveBuffer pruned = new MoveBuffer();
+        MoveBuffer complete = new MoveBuffer();
+        Solver.orderMoves(board, pruned);
+        Solver.orderMoves(board, complete, true);
+        int split = Moves.laneToLane(0, 1, 1);
+        assertFalse(contains(pruned, split), "The 9D left behind cannot go up");
+        assertTrue(contains(complete, split));
+    }
+
+    private static boolean contains(MoveBuffer moves, int move) {
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testSolutionsForDealtGamesReplay() {
+        Solver solver = new Solver(18, 200_000);
+        for (int game = 0; game < 5; game++) {
+            PatienceGameEngine engine = new PatienceGameEngine();
+            GameBoard start = new GameBoard();
+            start.copyFrom(engine.getBoard());
+
+            SolveResult result = solver.solve(start);
+            assertTrue(result.getNodes() <= 200_000, "The node budget is respected");
+            if (result.isSolved()) {
+                assertReplaysToWin(start, result);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSolverAgreesWithSequential() {
+        ParallelSolver parallel = new ParallelSolver(4, 16, 100_000, 2);
+        try {
+            GameBoard board = nearlyWonBoard();
+            SolveResult result = parallel.solve(board);
+            assertEquals(SolveResult.Status.SOLVED, result.getStatus(), result.toString());
+            assertReplaysToWin(board, result);
+
+            assertEquals(SolveResult.Status.UNSOLVABLE, parallel.solve(stuckBoard()).getStatus());
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSolutionsForDealtGamesReplay() {
+        ParallelSolver parallel = new ParallelSolver(4, 18, 200_000, ParallelSolver.DEFAULT_SPLIT_LEVELS);
+        try {
+            for (int game = 0; game < 5; game++) {
+                GameBoard start = new GameBoard();
+                start.copyFrom(new PatienceGameEngine().getBoard());
+
+                SolveResult result = parallel.solve(start);
+                assertTrue(result.getNodes() <= 200_000, "The shared node budget is respected");
+                if (result.isSolved()) {
+                    assertReplaysToWin(start, result);
+                }
+            }
+        } finally {
+            parallel.shutdown();
+        }
+    }
+}
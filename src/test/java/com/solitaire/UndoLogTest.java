@@ -0,0 +1,73 @@
+package com.solitaire;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class UndoLogTest {
+
+    @Test
+    public void testUndoRestoresEveryPreviousState() {
+        Random random = new Random(7);
+        MoveBuffer buffer = new MoveBuffer();
+        for (int game = 0; game < 20; game++) {
+            PatienceGameEngine engine = new PatienceGameEngine();
+            List<byte[]> states = new ArrayList<>();
+            List<int[]> counters = new ArrayList<>();
+
+            for (int step = 0; step < 150; step++) {
+                engine.generateMoves(buffer);
+                if (buffer.isEmpty()) {
+                    break;
+                }
+                states.add(engine.getBoard().state.clone());
+                counters.add(new int[]{engine.getTotalScore(), engine.getMoveCounter()});
+                assertTrue(engine.applyMove(buffer.get(random.nextInt(buffer.size()))).isSuccess());
+            }
+
+            for (int i = states.size() - 1; i >= 0; i--) {
+                assertEquals(MoveResult.UNDONE, engine.undo());
+                assertArrayEquals(states.get(i), engine.getBoard().state, "Board after undoing move " + i);
+                assertEquals(counters.get(i)[0], engine.getTotalScore(), "Score after undoing move " + i);
+                assertEquals(counters.get(i)[1], engine.getMoveCounter(), "Move counter after undoing move " + i);
+            }
+            assertEquals(MoveResult.NOTHING_TO_UNDO, engine.undo());
+        }
+    }
+
+    @Test
+    public void testUndoTurnsRevealedCardFaceDown() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        engine.getLane(1).clear();
+        engine.getLane(1).add(new PlayingCard("C", "9", true));
+        engine.getLane(1).add(new PlayingCard("H", "A", false));
+
+        assertEquals(MoveResult.MOVED_TO_SUIT_PILE, engine.handleUserCommand("1H"));
+        assertFalse(engine.getLane(1).get(0).isHidden(), "Moving the Ace reveals the 9C");
+
+        assertEquals(MoveResult.UNDONE, engine.handleUserCommand("U"));
+        assertEquals(2, engine.getLaneSize(1));
+        assertTrue(engine.getLane(1).get(0).isHidden(), "Undo turns the 9C face down again");
+        assertEquals(0, engine.getSuitPileSize("H"));
+        assertEquals(0, engine.getTotalScore());
+    }
+
+    @Test
+    public void testUndoRecycle() {
+        PatienceGameEngine engine = new PatienceGameEngine();
+        int stock = engine.getBoard().stockSize();
+        for (int i = 0; i < stock; i++) {
+            engine.drawCard();
+        }
+        byte[] beforeRecycle = engine.getBoard().state.clone();
+        assertEquals(MoveResult.RECYCLED, engine.drawCard());
+        assertEquals(0, engine.getDrawPileSize());
+
+        engine.undo();
+        assertTrue(Arrays.equals(beforeRecycle, engine.getBoard().state), "Undoing a recycle restores the drawn cards");
+        assertEquals(stock, engine.getMoveCounter());
+    }
+}